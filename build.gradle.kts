@@ -1,5 +1,6 @@
 plugins {
     id("java-library")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.popcraft"
@@ -14,6 +15,8 @@ repositories {
 dependencies {
     compileOnly(group = "org.spigotmc", name = "spigot-api", version = "1.21.8-R0.1-SNAPSHOT")
     compileOnly(group = "org.popcraft", name = "chunky-common", version = "1.4.43")
+    jmhImplementation(group = "org.spigotmc", name = "spigot-api", version = "1.21.8-R0.1-SNAPSHOT")
+    jmhImplementation(group = "org.popcraft", name = "chunky-common", version = "1.4.43")
 }
 
 java {
@@ -21,3 +24,11 @@ java {
         languageVersion.set(JavaLanguageVersion.of(21))
     }
 }
+
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+}
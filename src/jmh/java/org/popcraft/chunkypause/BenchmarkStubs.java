@@ -0,0 +1,99 @@
+package org.popcraft.chunkypause;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.popcraft.chunky.api.ChunkyAPI;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Stubbed Bukkit and Chunky interfaces so plugin code can run outside a server
+ */
+public final class BenchmarkStubs {
+
+    private BenchmarkStubs() {
+    }
+
+    /**
+     * Install a stub server with no players and no worlds
+     */
+    public static synchronized void installServer() {
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(stub(Server.class));
+        }
+    }
+
+    /**
+     * Chunky API where every world has a task that can be paused and continued
+     */
+    public static ChunkyAPI chunky() {
+        return (ChunkyAPI) Proxy.newProxyInstance(ChunkyAPI.class.getClassLoader(), new Class<?>[]{ChunkyAPI.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "version" -> 0;
+                case "isRunning", "pauseTask", "continueTask", "cancelTask", "startTask" -> true;
+                default -> null;
+            });
+    }
+
+    /**
+     * Command sender that hands every message to a consumer
+     */
+    public static CommandSender sender(Consumer<String> messages) {
+        return (CommandSender) Proxy.newProxyInstance(CommandSender.class.getClassLoader(), new Class<?>[]{CommandSender.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("sendMessage") && args != null && args[0] instanceof String message) {
+                    messages.accept(message);
+                    return null;
+                }
+                return defaultValue(method.getReturnType());
+            });
+    }
+
+    /**
+     * Create an instance without running its constructor (for JavaPlugin subclasses)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T allocate(Class<T> type) throws ReflectiveOperationException {
+        Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        Object unsafe = field.get(null);
+        return (T) unsafe.getClass().getMethod("allocateInstance", Class.class).invoke(unsafe, type);
+    }
+
+    /**
+     * Set a private field, used to wire collaborators into an allocated plugin
+     */
+    public static void setField(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> defaultValue(method.getReturnType()));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == String.class) return "stub";
+        if (type == Logger.class) return Logger.getLogger("stub");
+        if (type == List.class || type == Collection.class) return List.of();
+        if (type == Set.class) return Set.of();
+        if (type == Map.class) return Map.of();
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package org.popcraft.chunkypause.command;
+
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.popcraft.chunky.api.ChunkyAPI;
+import org.popcraft.chunkypause.BenchmarkStubs;
+import org.popcraft.chunkypause.ChunkyPause;
+import org.popcraft.chunkypause.memory.MemoryManager;
+import org.popcraft.chunkypause.memory.MemorySnapshot;
+import org.popcraft.chunkypause.pause.PauseReason;
+import org.popcraft.chunkypause.pause.PauseStateMachine;
+import org.popcraft.chunkypause.task.TaskRegistry;
+import org.popcraft.chunkypause.tick.TickSampler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering the /chunkypause status view
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatusBenchmark {
+
+    private ChunkyPauseCommand command;
+    private MemoryManager memoryManager;
+    private CommandSender sender;
+
+    @Setup
+    public void setup(Blackhole blackhole) throws ReflectiveOperationException {
+        BenchmarkStubs.installServer();
+        ChunkyAPI chunky = BenchmarkStubs.chunky();
+
+        // JavaPlugin refuses construction outside a plugin class loader, so wire a bare instance
+        ChunkyPause plugin = BenchmarkStubs.allocate(ChunkyPause.class);
+        TaskRegistry tasks = new TaskRegistry(null, chunky);
+        tasks.markContinued("world");
+        tasks.markContinued("world_nether");
+        PauseStateMachine pauseState = new PauseStateMachine(chunky, tasks);
+        pauseState.pauseAll(PauseReason.PLAYERS);
+        TickSampler tickSampler = new TickSampler(null, 200, 20, sampler -> { });
+        for (int i = 0; i < 200; i++) {
+            tickSampler.record(50_000_000L + i * 10_000L);
+        }
+        BenchmarkStubs.setField(plugin, "taskRegistry", tasks);
+        BenchmarkStubs.setField(plugin, "pauseState", pauseState);
+        BenchmarkStubs.setField(plugin, "tickSampler", tickSampler);
+        BenchmarkStubs.setField(plugin, "jvmName", "OpenJDK 64-Bit Server VM");
+        BenchmarkStubs.setField(plugin, "gcType", "G1GC");
+
+        memoryManager = new MemoryManager(null, null, false);
+        BenchmarkStubs.setField(plugin, "memoryManager", memoryManager);
+        // Field initializers do not run on an allocated instance
+        BenchmarkStubs.setField(plugin, "liveSet", new MemorySnapshot());
+        command = new ChunkyPauseCommand(plugin, chunky, memoryManager);
+        sender = BenchmarkStubs.sender(blackhole::consume);
+    }
+
+    @TearDown
+    public void tearDown() {
+        memoryManager.shutdown();
+    }
+
+    @Benchmark
+    public void displayStatus() {
+        command.displayStatus(sender);
+    }
+}
@@ -0,0 +1,46 @@
+package org.popcraft.chunkypause.memory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single memory sample, as taken on every monitor tick
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MemoryManagerBenchmark {
+
+    private MemoryManager memoryManager;
+    private final MemorySnapshot snapshot = new MemorySnapshot();
+
+    @Setup
+    public void setup() {
+        // getMemoryInfo never touches the plugin, so no server is needed
+        memoryManager = new MemoryManager(null, null, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        memoryManager.shutdown();
+    }
+
+    @Benchmark
+    public MemoryInfo getMemoryInfo() {
+        return memoryManager.getMemoryInfo();
+    }
+
+    @Benchmark
+    public MemorySnapshot sample() {
+        memoryManager.sample(snapshot);
+        return snapshot;
+    }
+}
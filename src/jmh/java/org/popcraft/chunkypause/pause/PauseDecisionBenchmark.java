@@ -0,0 +1,85 @@
+package org.popcraft.chunkypause.pause;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.popcraft.chunky.api.ChunkyAPI;
+import org.popcraft.chunkypause.BenchmarkStubs;
+import org.popcraft.chunkypause.task.TaskRegistry;
+import org.popcraft.chunkypause.tick.TickSampler;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the per-cycle decision inputs and of a pause/resume transition
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PauseDecisionBenchmark {
+
+    @Param({"1", "8", "32"})
+    private int worlds;
+
+    private PauseStateMachine pauseState;
+    private PolicyEngine policyEngine;
+    private TickSampler tickSampler;
+    private boolean over = false;
+
+    @Setup
+    public void setup() {
+        ChunkyAPI chunky = BenchmarkStubs.chunky();
+        TaskRegistry tasks = new TaskRegistry(null, chunky);
+        for (int i = 0; i < worlds; i++) {
+            tasks.markContinued("world_" + i);
+        }
+        pauseState = new PauseStateMachine(chunky, tasks);
+        // Not started: the benchmarks drive the decision directly, as a memory sample would
+        policyEngine = new PolicyEngine(null, pauseState, (world, reason, paused, changed) -> { });
+        // No debounce or dwell, so a crossing sample is applied right away
+        policyEngine.setPolicy(PauseReason.MEMORY, new PausePolicy(0.05, 0, 0, 0, 0));
+
+        tickSampler = new TickSampler(null, 200, 20, sampler -> { });
+        for (int i = 0; i < 200; i++) {
+            tickSampler.record(ThreadLocalRandom.current().nextLong(45_000_000L, 70_000_000L));
+        }
+    }
+
+    @Benchmark
+    public int pauseAndResumeAll() {
+        return pauseState.pauseAll(PauseReason.MEMORY) + pauseState.resumeAll(PauseReason.MEMORY);
+    }
+
+    @Benchmark
+    public boolean redundantPause() {
+        // Reason already set on every world: should not reach Chunky at all
+        pauseState.pauseAll(PauseReason.FORCED);
+        return pauseState.pauseAll(PauseReason.FORCED) == 0;
+    }
+
+    @Benchmark
+    public double tickPercentile() {
+        return tickSampler.getPercentileMspt(0.95);
+    }
+
+    @Benchmark
+    public boolean memoryThresholdDecision() {
+        // The common case: a sample below the threshold with nothing to change
+        policyEngine.update(PauseReason.MEMORY, 0.60, 0.85);
+        return pauseState.isPaused(PauseReason.MEMORY);
+    }
+
+    @Benchmark
+    public boolean memoryThresholdTransition() {
+        // Every sample crosses the threshold, so each one pauses or resumes every world
+        over = !over;
+        policyEngine.update(PauseReason.MEMORY, over ? 0.90 : 0.60, 0.85);
+        return pauseState.isPaused(PauseReason.MEMORY);
+    }
+}
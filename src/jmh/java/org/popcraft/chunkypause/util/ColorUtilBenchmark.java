@@ -0,0 +1,31 @@
+package org.popcraft.chunkypause.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of translating color codes in a typical status line
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorUtilBenchmark {
+
+    private final String line = "&7Memory: &e2048MB &7/ &e8192MB";
+
+    @Benchmark
+    public String colorize() {
+        return ColorUtil.colorize(line);
+    }
+
+    @Benchmark
+    public String strip() {
+        return ColorUtil.strip(ColorUtil.colorize(line));
+    }
+}
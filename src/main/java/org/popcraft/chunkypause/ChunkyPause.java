@@ -2,8 +2,8 @@ package org.popcraft.chunkypause;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Server;
-import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
@@ -12,33 +12,132 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.jetbrains.annotations.NotNull;
 import org.popcraft.chunky.api.ChunkyAPI;
+import org.popcraft.chunky.api.event.task.GenerationProgressEvent;
+import org.popcraft.chunkypause.audit.AuditEntry;
+import org.popcraft.chunkypause.audit.AuditLog;
+import org.popcraft.chunkypause.command.ChunkyPauseCommand;
+import org.popcraft.chunkypause.jfr.MonitorSampleEvent;
+import org.popcraft.chunkypause.cpu.CpuSampler;
+import org.popcraft.chunkypause.disk.DiskIoMonitor;
+import org.popcraft.chunkypause.memory.MemorySnapshot;
+import org.popcraft.chunkypause.memory.NativeMemoryMonitor;
+import org.popcraft.chunkypause.memory.NativeMemorySource;
+import org.popcraft.chunkypause.memory.CgroupMemoryReader;
+import org.popcraft.chunkypause.memory.CleanupScheduler;
+import org.popcraft.chunkypause.memory.ExhaustionPredictor;
+import org.popcraft.chunkypause.memory.MemoryHistory;
+import org.popcraft.chunkypause.memory.MemoryManager;
+import org.popcraft.chunkypause.memory.MemoryMonitor;
+import org.popcraft.chunkypause.metrics.MetricsExporter;
+import org.popcraft.chunkypause.metrics.PluginMetrics;
+import org.popcraft.chunkypause.metrics.ThroughputTracker;
+import org.popcraft.chunkypause.pause.PauseConditionMonitor;
+import org.popcraft.chunkypause.pause.PausePolicy;
+import org.popcraft.chunkypause.pause.PauseReason;
+import org.popcraft.chunkypause.pause.PauseStateMachine;
+import org.popcraft.chunkypause.pause.PolicyEngine;
+import org.popcraft.chunkypause.pause.WorldPauseState;
+import org.popcraft.chunkypause.player.PlayerIndex;
+import org.popcraft.chunkypause.task.TaskRegistry;
+import org.popcraft.chunkypause.throttle.DutyCycleScheduler;
+import org.popcraft.chunkypause.throttle.PidController;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+import org.popcraft.chunkypause.tick.TickSampler;
 
-import java.lang.management.ManagementFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
 public final class ChunkyPause extends JavaPlugin implements Listener {
     private ChunkyAPI chunky;
+    private MonitorLoop monitorLoop;
+    private MemoryManager memoryManager;
+    private CleanupScheduler cleanupScheduler;
+    private MemoryMonitor memoryMonitor;
+    private final MemorySnapshot liveSet = new MemorySnapshot();
+    private MemoryHistory memoryHistory;
+    private final ExhaustionPredictor exhaustionPredictor = new ExhaustionPredictor();
+    private NativeMemoryMonitor nativeMemoryMonitor;
+    private DiskIoMonitor diskIoMonitor;
+    private CpuSampler cpuSampler;
+    private PlayerIndex playerIndex;
+    private ThroughputTracker throughputTracker;
+    private MetricsExporter metricsExporter;
+    private AuditLog auditLog;
+    private TickSampler tickSampler;
+    private DutyCycleScheduler dutyCycle;
+    private PauseStateMachine pauseState;
+    private PolicyEngine policyEngine;
+    private PauseConditionMonitor pauseConditions;
+    private TaskRegistry taskRegistry;
     private int maxPlayers = 0;
+    private int playerCount = 0;
+    private boolean playerProximityEnabled;
+    private int playerProximityRadius;
+    private double playerExploreRate;
+    private long throughputInterval;
+    private int throughputHistorySize;
+    private boolean metricsEnabled;
+    private String metricsHost;
+    private int metricsPort;
+    private boolean auditLogEnabled;
+    private long auditLogMaxBytes;
+    private int auditLogMaxFiles;
     private long memoryCheckInterval;
     private double memoryThreshold;
-    private long resumeDelay;
-    private boolean isPausedByMemory = false;
-    private boolean isPausedByPlayers = false;
-    private boolean isForcePaused = false;
+    private boolean forcePaused = false;
+    private List<String> forcePausedWorlds = new ArrayList<>();
     private boolean cleanMemoryOnJoin;
     private boolean memoryMonitoringEnabled = true; // Toggle for memory monitoring
     private long lastMemoryLogTime = 0;
-    private long lastGCTime = 0;
-    private static final long GC_COOLDOWN = 10000; // 10 seconds minimum between GC calls
+    private boolean memoryPredicted = false;
+    private int memoryHistorySize;
+    private double memoryEwmaSeconds;
+    private long memoryTrendWindow;
+    private boolean predictivePauseEnabled;
+    private long predictiveHorizon;
+    private boolean nativeMemoryEnabled;
+    private final long[] nativeThresholdsMB = new long[NativeMemorySource.values().length];
+    private NativeMemorySource nativeExceeded;
+    private double containerThreshold;
+    private double externalThreshold;
+    private boolean diskIoEnabled;
+    private double diskLatencyLimit;
+    private double diskQueueLimit;
+    // Disk load relative to the limits, 1.0 at the limit
+    private double diskPressure = 0;
+    private boolean cpuMonitoringEnabled;
+    private double cpuStarvationThreshold;
+    private double cpuLoadThreshold;
+    private double cpuStarvation = 0;
+    
+    // Tick time throttling
+    private boolean tickThrottleEnabled;
+    private int tickWindow;
+    private double msptHighWatermark;
+    private double msptLowWatermark;
+    
+    // Duty cycle generation
+    private boolean dutyCycleEnabled;
+    private int dutyCyclePeriod;
+    private double dutyCycleMinRatio;
+    private double dutyCycleTargetMspt;
+    private double dutyCycleKp;
+    private double dutyCycleKi;
+    private double dutyCycleKd;
     
     // JVM Detection
     private boolean isFixedHeapSize = false; // true when -Xmx = -Xms
     private String jvmName = "Unknown";
     private String jvmVersion = "Unknown";
     private String gcType = "Unknown";
+    
+    // Signals whose pause and resume go through a configurable policy
+    private static final EnumSet<PauseReason> POLICY_REASONS = EnumSet.of(PauseReason.PLAYERS, PauseReason.MEMORY, 
+        PauseReason.TICK_TIME, PauseReason.NATIVE_MEMORY, PauseReason.CONTAINER_MEMORY, PauseReason.EXTERNAL, 
+        PauseReason.DISK_IO, PauseReason.CPU);
 
     @Override
     public void onEnable() {
@@ -48,35 +147,67 @@ public final class ChunkyPause extends JavaPlugin implements Listener {
         // Detect JVM and optimizations first
         detectJVMOptimizations();
         
+        // Every repeating check on the main thread runs through this one loop
+        monitorLoop = new MonitorLoop(this);
+        monitorLoop.start();
+        
+        // GC strategies run on their own thread, off the server tick
+        memoryManager = new MemoryManager(this, monitorLoop, isFixedHeapSize);
+        cleanupScheduler = new CleanupScheduler(this, memoryManager);
+        
         // Load configuration
         loadConfiguration();
         
         // Load ChunkyAPI
         this.chunky = Bukkit.getServer().getServicesManager().load(ChunkyAPI.class);
         if (chunky != null && chunky.version() == 0) {
+            taskRegistry = new TaskRegistry(this, chunky);
+            pauseState = new PauseStateMachine(chunky, taskRegistry);
+            policyEngine = new PolicyEngine(monitorLoop, pauseState, this::onPolicyTransition);
+            loadPausePolicies();
+            policyEngine.start();
+            taskRegistry.setStartListener(this::onTaskStarted);
+            taskRegistry.start();
             getServer().getPluginManager().registerEvents(this, this);
             
+            // Register command handler
+            PluginCommand command = getCommand("chunkypause");
+            if (command != null) {
+                ChunkyPauseCommand commandHandler = new ChunkyPauseCommand(this, chunky, memoryManager);
+                command.setExecutor(commandHandler);
+                command.setTabCompleter(commandHandler);
+            }
+            
             // Start memory monitoring
             startMemoryMonitor();
+            startNativeMemoryMonitor();
+            startDiskIoMonitor();
+            startCpuSampler();
+            startPlayerIndex();
+            startThroughputTracker();
+            startMetricsExporter();
+            startAuditLog();
+            
+            // Start tick time sampling
+            startTickThrottle();
+            
+            // Load signals contributed by other plugins
+            pauseConditions = new PauseConditionMonitor(this, monitorLoop, this::onPauseConditions);
+            pauseConditions.start();
             
             // Apply force pause if enabled in config
-            if (isForcePaused) {
-                getLogger().info("§eApplying force pause from config...");
-                Bukkit.getServer().getWorlds().forEach(world -> {
-                    try {
-                        chunky.pauseTask(world.getName());
-                    } catch (Exception e) {
-                        // Task might not be running, ignore
-                    }
-                });
-                getLogger().info("§eChunky is force paused - use /chunkypause forcepause to resume");
-            }
+            applyForcePause();
             
             getLogger().info("ChunkyPause enabled with adaptive memory monitoring");
             getLogger().info("Max players allowed during generation: " + maxPlayers);
             getLogger().info("Memory threshold: " + (memoryThreshold * 100) + "%");
             getLogger().info("Check interval: " + (memoryCheckInterval / 20) + " seconds");
             getLogger().info("Clean memory on player join: " + cleanMemoryOnJoin);
+            getLogger().info("GC cleanup actions: " + memoryManager.describeActions());
+            if (tickThrottleEnabled) {
+                getLogger().info("Tick throttle: pause above " + msptHighWatermark + "ms, resume below " + 
+                               msptLowWatermark + "ms (p95 over " + tickWindow + " ticks)");
+            }
         } else {
             getLogger().warning("Chunky API not found or incompatible version!");
         }
@@ -85,6 +216,54 @@ public final class ChunkyPause extends JavaPlugin implements Listener {
     @Override
     public void onDisable() {
         HandlerList.unregisterAll((Plugin) this);
+        if (memoryMonitor != null) {
+            memoryMonitor.stop();
+        }
+        if (nativeMemoryMonitor != null) {
+            nativeMemoryMonitor.stop();
+        }
+        if (diskIoMonitor != null) {
+            diskIoMonitor.stop();
+        }
+        if (cpuSampler != null) {
+            cpuSampler.stop();
+        }
+        if (playerIndex != null) {
+            playerIndex.stop();
+        }
+        if (throughputTracker != null) {
+            throughputTracker.stop();
+        }
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+        if (auditLog != null) {
+            auditLog.stop();
+        }
+        if (tickSampler != null) {
+            tickSampler.stop();
+        }
+        if (dutyCycle != null) {
+            dutyCycle.stop();
+        }
+        if (taskRegistry != null) {
+            taskRegistry.stop();
+        }
+        if (pauseConditions != null) {
+            pauseConditions.stop();
+        }
+        if (policyEngine != null) {
+            policyEngine.stop();
+        }
+        if (cleanupScheduler != null) {
+            cleanupScheduler.stop();
+        }
+        if (memoryManager != null) {
+            memoryManager.shutdown();
+        }
+        if (monitorLoop != null) {
+            monitorLoop.stop();
+        }
     }
 
     private void detectJVMOptimizations() {
@@ -95,13 +274,9 @@ public final class ChunkyPause extends JavaPlugin implements Listener {
         long maxMemory = runtime.maxMemory();
         long totalMemory = runtime.totalMemory();
         
-        // Detect if heap size is fixed (-Xmx = -Xms)
-        // When fixed, totalMemory will be very close to maxMemory at startup
-        double heapRatio = (double) totalMemory / maxMemory;
-        isFixedHeapSize = heapRatio > 0.95; // Within 5% means fixed heap
-        
-        // Detect GC type from JVM arguments
-        gcType = detectGarbageCollector();
+        // Only meaningful at startup, before the heap has had a chance to grow
+        isFixedHeapSize = MemoryManager.detectFixedHeapSize();
+        gcType = MemoryManager.detectGarbageCollector();
         
         getLogger().info("===========================================");
         getLogger().info("JVM Configuration:");
@@ -132,626 +307,735 @@ public final class ChunkyPause extends JavaPlugin implements Listener {
         getLogger().info("===========================================");
     }
 
-    private String detectGarbageCollector() {
-        try {
-            List<String> jvmArgs = ManagementFactory.getRuntimeMXBean().getInputArguments();
-            
-            for (String arg : jvmArgs) {
-                if (arg.contains("UseZGC")) return "ZGC";
-                if (arg.contains("UseShenandoahGC")) return "Shenandoah";
-                if (arg.contains("UseG1GC")) return "G1GC";
-                if (arg.contains("UseParallelGC")) return "Parallel GC";
-                if (arg.contains("UseConcMarkSweepGC")) return "CMS";
-                if (arg.contains("UseSerialGC")) return "Serial GC";
-            }
-            
-            // Default GC detection via MXBean
-            for (java.lang.management.GarbageCollectorMXBean gc : 
-                 java.lang.management.ManagementFactory.getGarbageCollectorMXBeans()) {
-                String name = gc.getName().toLowerCase();
-                if (name.contains("zgc")) return "ZGC";
-                if (name.contains("shenandoah")) return "Shenandoah";
-                if (name.contains("g1")) return "G1GC";
-                if (name.contains("parallel")) return "Parallel GC";
-            }
-            
-            return "Default (Platform)";
-        } catch (Exception e) {
-            return "Unknown";
-        }
-    }
-
     public void loadConfiguration() {
         maxPlayers = getConfig().getInt("max-players", 0);
+        playerProximityEnabled = getConfig().getBoolean("player-proximity-enabled", false);
+        playerProximityRadius = getConfig().getInt("player-proximity-radius", 32);
+        playerExploreRate = getConfig().getDouble("player-explore-rate", 1.0);
+        throughputInterval = Math.max(1L, getConfig().getLong("throughput-sample-interval", 100L));
+        throughputHistorySize = getConfig().getInt("throughput-history-size", 720);
+        metricsEnabled = getConfig().getBoolean("metrics-enabled", false);
+        metricsHost = getConfig().getString("metrics-host", "127.0.0.1");
+        metricsPort = getConfig().getInt("metrics-port", 9940);
+        auditLogEnabled = getConfig().getBoolean("audit-log-enabled", true);
+        auditLogMaxBytes = Math.max(1L, getConfig().getLong("audit-log-max-size-mb", 5L)) * 1024 * 1024;
+        auditLogMaxFiles = getConfig().getInt("audit-log-max-files", 3);
         memoryThreshold = getConfig().getDouble("memory-threshold", 0.85);
         memoryCheckInterval = getConfig().getLong("check-interval", 100L);
-        resumeDelay = getConfig().getLong("resume-delay", 100L);
         cleanMemoryOnJoin = getConfig().getBoolean("clean-memory-on-join", true);
-        isForcePaused = getConfig().getBoolean("force-paused", false);
+        forcePaused = getConfig().getBoolean("force-paused", false);
+        forcePausedWorlds = new ArrayList<>(getConfig().getStringList("force-paused-worlds"));
         memoryMonitoringEnabled = getConfig().getBoolean("memory-monitoring-enabled", true);
+        memoryHistorySize = getConfig().getInt("memory-history-size", 900);
+        memoryEwmaSeconds = getConfig().getDouble("memory-ewma-seconds", 30.0);
+        memoryTrendWindow = getConfig().getLong("memory-trend-window", 60L);
+        predictivePauseEnabled = getConfig().getBoolean("predictive-pause-enabled", false);
+        predictiveHorizon = getConfig().getLong("predictive-horizon", 120L);
+        nativeMemoryEnabled = getConfig().getBoolean("native-memory-monitoring-enabled", true);
+        for (NativeMemorySource source : NativeMemorySource.values()) {
+            nativeThresholdsMB[source.ordinal()] = getConfig().getLong(source.getConfigKey(), 0L);
+        }
+        containerThreshold = getConfig().getDouble("container-threshold", 0.90);
+        externalThreshold = getConfig().getDouble("external-condition-threshold", 0.5);
+        diskIoEnabled = getConfig().getBoolean("disk-io-monitoring-enabled", true);
+        diskLatencyLimit = getConfig().getDouble("disk-write-latency-limit", 50.0);
+        diskQueueLimit = getConfig().getDouble("disk-queue-depth-limit", 0.0);
+        cpuMonitoringEnabled = getConfig().getBoolean("cpu-monitoring-enabled", true);
+        cpuStarvationThreshold = getConfig().getDouble("cpu-starvation-threshold", 0.25);
+        cpuLoadThreshold = getConfig().getDouble("cpu-load-threshold", 0.90);
+        memoryManager.setActions(getConfig().getStringList("gc-actions"));
+        cleanupScheduler.configure(
+            getConfig().getLong("cleanup-coalesce-window", 100L),
+            getConfig().getLong("gc-cooldown-min", 5L) * 1000,
+            getConfig().getLong("gc-cooldown-max", 120L) * 1000);
+        tickThrottleEnabled = getConfig().getBoolean("tick-throttle-enabled", true);
+        tickWindow = getConfig().getInt("tick-window", 200);
+        msptHighWatermark = getConfig().getDouble("mspt-high-watermark", 60.0);
+        msptLowWatermark = getConfig().getDouble("mspt-low-watermark", 52.0);
+        dutyCycleEnabled = getConfig().getBoolean("duty-cycle-enabled", false);
+        dutyCyclePeriod = getConfig().getInt("duty-cycle-period", 100);
+        dutyCycleMinRatio = getConfig().getDouble("duty-cycle-min-ratio", 0.2);
+        dutyCycleTargetMspt = getConfig().getDouble("duty-cycle-target-mspt", 52.0);
+        dutyCycleKp = getConfig().getDouble("duty-cycle-kp", 2.0);
+        dutyCycleKi = getConfig().getDouble("duty-cycle-ki", 0.5);
+        dutyCycleKd = getConfig().getDouble("duty-cycle-kd", 0.0);
+        
+        // resume-delay (ticks) was replaced by the memory policy's min-paused (seconds)
+        if (getConfig().contains("resume-delay", true)) {
+            getConfig().set("pause-policy.memory.min-paused", getConfig().getLong("resume-delay", 100L) / 20.0);
+            getConfig().set("resume-delay", null);
+            saveConfig();
+        }
+        loadPausePolicies();
+        
+        if (memoryMonitor != null) {
+            memoryMonitor.setMemoryThreshold(memoryThreshold);
+        }
+        
+        // Restart the sampler on reload so a new window size or toggle takes effect
+        if (chunky != null) {
+            if (tickSampler != null) {
+                tickSampler.stop();
+                tickSampler = null;
+            }
+            if (dutyCycle != null) {
+                dutyCycle.stop();
+                dutyCycle = null;
+            }
+            startTickThrottle();
+            startPlayerIndex();
+            startThroughputTracker();
+            startMetricsExporter();
+            startAuditLog();
+        }
         
         // Log force pause state on startup if enabled
-        if (isForcePaused) {
+        if (forcePaused) {
             getLogger().info("§eForce pause is ENABLED - Chunky will remain paused until disabled");
         }
         
+        // Pick up force pause changes made to the file
+        if (pauseState != null) {
+            applyForcePause();
+        }
+        
         // Log memory monitoring state
         getLogger().info("Memory monitoring: " + (memoryMonitoringEnabled ? "§aENABLED" : "§cDISABLED"));
     }
 
+    private void loadPausePolicies() {
+        if (policyEngine == null) {
+            return;
+        }
+        for (PauseReason reason : POLICY_REASONS) {
+            policyEngine.setPolicy(reason, PausePolicy.load(
+                getConfig().getConfigurationSection("pause-policy." + reason.getConfigKey()), PausePolicy.getDefault(reason)));
+        }
+    }
+
     private void startMemoryMonitor() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                // Skip monitoring if disabled
-                if (!memoryMonitoringEnabled) {
-                    return;
-                }
-                
-                MemoryInfo memInfo = getDetailedMemoryInfo();
-                
-                // Log memory usage periodically (every 60 seconds)
-                long currentTime = System.currentTimeMillis();
-                if (currentTime - lastMemoryLogTime >= 60000) {
-                    double allocatedPercent = ((double) memInfo.allocatedMB / memInfo.maxMB) * 100;
-                    getLogger().info(String.format("Memory: %.1f%% used (%dMB / %dMB allocated / %dMB max) | Allocated: %.1f%%", 
-                        memInfo.usagePercent * 100, 
-                        memInfo.usedMB, 
-                        memInfo.allocatedMB,
-                        memInfo.maxMB,
-                        allocatedPercent));
-                    
-                    // Warn if allocated memory is getting too high
-                    if (allocatedPercent > 90) {
-                        getLogger().warning("§eAllocated memory very high (" + String.format("%.1f%%", allocatedPercent) + 
-                                          ") - May cause lag and high MSPT");
-                    }
-                    
-                    lastMemoryLogTime = currentTime;
-                }
-                
-                // Check if memory threshold exceeded (only check USED memory, not allocated)
-                if (memInfo.usagePercent > memoryThreshold && !isPausedByMemory) {
-                    handleHighMemory(memInfo);
-                }
-            }
-        }.runTaskTimer(this, 20L, memoryCheckInterval);
+        // Samples arrive after each collection, so usage reflects the live set rather than pending garbage
+        memoryHistory = new MemoryHistory(memoryHistorySize, memoryEwmaSeconds);
+        memoryMonitor = new MemoryMonitor(this, monitorLoop, memoryThreshold, memoryCheckInterval, this::onMemorySample);
+        memoryMonitor.setCollectionListener(memoryManager.getCostTracker()::onCollection);
+        memoryMonitor.start();
     }
 
-    private void handleHighMemory(MemoryInfo memInfo) {
-        if (chunky == null || isPausedByMemory) return;
+    private void startNativeMemoryMonitor() {
+        nativeMemoryMonitor = new NativeMemoryMonitor(this, monitorLoop, memoryCheckInterval, this::onNativeMemorySample);
+        nativeMemoryMonitor.start();
         
-        isPausedByMemory = true;
-        getLogger().warning(String.format(
-            "Memory usage critical (%.1f%%)! Pausing Chunky generation and cleaning memory...", 
-            memInfo.usagePercent * 100));
-        
-        // Pause all Chunky tasks
-        int pausedCount = 0;
-        for (org.bukkit.World world : Bukkit.getServer().getWorlds()) {
-            try {
-                chunky.pauseTask(world.getName());
-                pausedCount++;
-            } catch (Exception e) {
-                // Task might not be running, ignore
+        CgroupMemoryReader cgroup = nativeMemoryMonitor.getCgroup();
+        if (cgroup != null && cgroup.hasLimit()) {
+            long limitMB = cgroup.getLimitBytes() / (1024 * 1024);
+            long maxHeapMB = Runtime.getRuntime().maxMemory() / (1024 * 1024);
+            getLogger().info("Container memory limit: " + limitMB + "MB (cgroup v" + cgroup.getVersion() + ")");
+            if (maxHeapMB > limitMB * 0.9) {
+                getLogger().warning("§eMax heap (" + maxHeapMB + "MB) leaves little room below the container limit (" + 
+                                  limitMB + "MB) for native memory");
             }
         }
+    }
+
+    private void onNativeMemorySample(NativeMemoryMonitor monitor) {
+        checkContainerMemory(monitor.getCgroup());
         
-        if (pausedCount == 0) {
-            // No tasks were actually running, reset the flag
-            getLogger().info("No active Chunky tasks found - nothing to pause");
-            isPausedByMemory = false;
+        if (!nativeMemoryEnabled) {
+            resume(PauseReason.NATIVE_MEMORY, "Native memory monitoring disabled");
             return;
         }
         
-        getLogger().info("Paused " + pausedCount + " Chunky task(s)");
-        
-        // Perform optimized GC based on JDK
-        performOptimizedGC("high memory");
+        double band = policyEngine.getPolicy(PauseReason.NATIVE_MEMORY).getBand();
+        NativeMemorySource exceeded = null;
+        boolean belowResume = true;
+        for (NativeMemorySource source : NativeMemorySource.values()) {
+            long thresholdMB = nativeThresholdsMB[source.ordinal()];
+            if (thresholdMB <= 0 || !monitor.isAvailable(source)) {
+                continue;
+            }
+            long usedMB = monitor.getUsage(source) / (1024 * 1024);
+            if (exceeded == null && usedMB > thresholdMB) {
+                exceeded = source;
+            }
+            // Every source must be below its band before resuming
+            if (usedMB >= thresholdMB * (1 - band)) {
+                belowResume = false;
+            }
+        }
         
-        // Schedule memory recovery check
-        scheduleMemoryRecoveryCheck();
+        nativeExceeded = exceeded;
+        boolean paused = pauseState.isPaused(PauseReason.NATIVE_MEMORY);
+        policyEngine.update(PauseReason.NATIVE_MEMORY, paused ? !belowResume : exceeded != null);
+        for (NativeMemorySource source : NativeMemorySource.values()) {
+            long thresholdMB = nativeThresholdsMB[source.ordinal()];
+            if (thresholdMB > 0 && monitor.isAvailable(source)) {
+                MonitorSampleEvent.emit(source.getDisplayName(), monitor.getUsage(source), thresholdMB * 1024.0 * 1024, 
+                    pauseState.isPaused(PauseReason.NATIVE_MEMORY));
+            }
+        }
     }
 
-    private void performOptimizedGC(String reason) {
-        long currentTime = System.currentTimeMillis();
-        
-        // Check GC cooldown to prevent excessive GC calls
-        if (currentTime - lastGCTime < GC_COOLDOWN) {
-            getLogger().info("§7Skipping GC (cooldown active, last GC: " + 
-                ((currentTime - lastGCTime) / 1000) + "s ago)");
+    private void checkContainerMemory(CgroupMemoryReader cgroup) {
+        if (cgroup == null || !cgroup.hasLimit() || containerThreshold <= 0) {
+            resume(PauseReason.CONTAINER_MEMORY, "Container memory check disabled");
             return;
         }
         
-        lastGCTime = currentTime;
-        MemoryInfo beforeGC = getDetailedMemoryInfo();
-        
-        getLogger().info("§6=== Starting Memory Cleanup (" + reason + ") ===");
-        getLogger().info("§7Before: Used=" + beforeGC.usedMB + "MB, Allocated=" + beforeGC.allocatedMB + 
-                        "MB, Max=" + beforeGC.maxMB + "MB (" + String.format("%.1f%%", beforeGC.usagePercent * 100) + ")");
+        policyEngine.update(PauseReason.CONTAINER_MEMORY, cgroup.getWorkingSetPercent(), containerThreshold);
+        emitSample(PauseReason.CONTAINER_MEMORY, cgroup.getWorkingSetPercent(), containerThreshold);
+    }
+
+    private void startDiskIoMonitor() {
+        diskIoMonitor = new DiskIoMonitor(this, monitorLoop, taskRegistry, memoryCheckInterval, this::onDiskIoSample);
+        diskIoMonitor.start();
         
-        // Determine GC strategy based on detected GC type and heap configuration
-        if (isFixedHeapSize) {
-            getLogger().info("§7Strategy: Fixed heap - Single full GC pass");
-            // For fixed heap, single GC is sufficient since memory won't be released anyway
-            System.gc();
-            try {
-                Thread.sleep(200);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        } else if (gcType.contains("ZGC") || gcType.contains("Shenandoah")) {
-            getLogger().info("§7Strategy: Low-pause GC - Minimal intervention");
-            // These GCs handle memory automatically, just hint
-            System.gc();
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        } else if (gcType.contains("G1")) {
-            getLogger().info("§7Strategy: G1GC - Dual-pass cleanup");
-            // G1GC benefits from two passes
-            System.gc();
-            try {
-                Thread.sleep(250);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            System.gc();
+        if (diskIoMonitor.hasDevice()) {
+            getLogger().info("Disk I/O monitoring on device " + diskIoMonitor.getDeviceName());
         } else {
-            getLogger().info("§7Strategy: Standard GC - Multi-pass aggressive");
-            // Standard GC: thorough multi-pass cleanup
-            for (int i = 0; i < 3; i++) {
-                System.gc();
-                try {
-                    Thread.sleep(200);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
+            getLogger().info("Disk device for the world folder not found; only world folder growth is measured");
+        }
+    }
+
+    private void onDiskIoSample(DiskIoMonitor monitor) {
+        diskPressure = 0;
+        if (!diskIoEnabled || !monitor.hasDevice() || (diskLatencyLimit <= 0 && diskQueueLimit <= 0)) {
+            resume(PauseReason.DISK_IO, "Disk I/O monitoring disabled");
+            return;
         }
         
-        // Try to release memory back to OS (only works if not fixed heap)
-        if (!isFixedHeapSize) {
-            getLogger().info("§7Attempting to release memory back to OS...");
-            
-            try {
-                Runtime runtime = Runtime.getRuntime();
-                long before = runtime.totalMemory();
-                
-                System.gc();
-                Thread.sleep(500);
-                
-                long after = runtime.totalMemory();
-                long released = (before - after) / (1024 * 1024);
-                
-                if (released > 0) {
-                    getLogger().info("§aSuccessfully released " + released + "MB back to OS");
-                } else {
-                    getLogger().info("§7JVM holding allocated memory (expected with -Xms near -Xmx)");
+        if (diskLatencyLimit > 0) {
+            diskPressure = monitor.getWriteLatencyMs() / diskLatencyLimit;
+        }
+        if (diskQueueLimit > 0) {
+            diskPressure = Math.max(diskPressure, monitor.getQueueDepth() / diskQueueLimit);
+        }
+        policyEngine.update(PauseReason.DISK_IO, diskPressure, 1.0);
+        emitSample(PauseReason.DISK_IO, diskPressure, 1.0);
+    }
+
+    private void startCpuSampler() {
+        CpuSampler sampler = new CpuSampler(monitorLoop, 20L, this::onCpuSample);
+        if (!sampler.isSupported()) {
+            getLogger().info("Per-thread CPU time is not supported by this JVM; CPU monitoring disabled");
+            return;
+        }
+        cpuSampler = sampler;
+        cpuSampler.start();
+    }
+
+    private void onCpuSample(CpuSampler sampler) {
+        cpuStarvation = 0;
+        if (!cpuMonitoringEnabled || cpuStarvationThreshold <= 0) {
+            resume(PauseReason.CPU, "CPU monitoring disabled");
+            return;
+        }
+        
+        // Lag while cores are free comes from elsewhere (tick work, disk) and is handled by those checks
+        if (Math.max(sampler.getSystemLoad(), sampler.getProcessLoad()) >= cpuLoadThreshold) {
+            cpuStarvation = sampler.getMainStarvation();
+        }
+        policyEngine.update(PauseReason.CPU, cpuStarvation, cpuStarvationThreshold);
+        emitSample(PauseReason.CPU, cpuStarvation, cpuStarvationThreshold);
+    }
+
+    private void startPlayerIndex() {
+        if (!playerProximityEnabled) {
+            if (playerIndex != null) {
+                playerIndex.stop();
+                playerIndex = null;
+                // Back to counting every player on the server
+                int resumed = policyEngine.clearWorlds(PauseReason.PLAYERS);
+                if (resumed > 0) {
+                    getLogger().info("Player proximity disabled. Resumed " + resumed + " Chunky task(s).");
                 }
-            } catch (Exception e) {
-                // Ignore
+                playerCount = Bukkit.getOnlinePlayers().size();
+                policyEngine.update(PauseReason.PLAYERS, playerCount > maxPlayers);
             }
+            return;
         }
         
-        // Phase 3: Wait and report results
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                MemoryInfo afterGC = getDetailedMemoryInfo();
-                long freedUsedMB = beforeGC.usedMB - afterGC.usedMB;
-                long freedAllocatedMB = beforeGC.allocatedMB - afterGC.allocatedMB;
-                
-                getLogger().info("§6=== Memory Cleanup Complete ===");
-                getLogger().info("§7After: Used=" + afterGC.usedMB + "MB, Allocated=" + afterGC.allocatedMB + 
-                               "MB, Max=" + afterGC.maxMB + "MB (" + String.format("%.1f%%", afterGC.usagePercent * 100) + ")");
-                
-                if (freedUsedMB > 0) {
-                    getLogger().info("§aFreed: " + freedUsedMB + "MB used memory");
-                    getLogger().info("§aUsage: " + String.format("%.1f%%", beforeGC.usagePercent * 100) + 
-                                   " -> " + String.format("%.1f%%", afterGC.usagePercent * 100));
-                }
-                
-                if (freedAllocatedMB > 0) {
-                    getLogger().info("§aReleased: " + freedAllocatedMB + "MB allocated memory");
-                } else if (!isFixedHeapSize && afterGC.allocatedMB > afterGC.maxMB * 0.90) {
-                    getLogger().info("§7Allocated memory remains high (JVM memory management)");
-                }
-                
-                if (freedUsedMB <= 0 && freedAllocatedMB <= 0) {
-                    getLogger().info("§7No significant memory freed (memory may already be optimal)");
-                }
+        if (playerIndex == null) {
+            // Worlds are paused one by one from now on
+            resume(PauseReason.PLAYERS, "Player proximity enabled");
+            playerIndex = new PlayerIndex(this, monitorLoop, 20L, this::onPlayerProximity);
+            playerIndex.start();
+        }
+        playerIndex.setExploreRate(playerExploreRate);
+    }
+
+    private void startThroughputTracker() {
+        // Keep the collected history across reloads unless its shape changed
+        if (throughputTracker != null) {
+            if (throughputTracker.getInterval() == throughputInterval && throughputTracker.getCapacity() == throughputHistorySize) {
+                return;
             }
-        }.runTaskLater(this, 40L); // Wait 2 seconds for full GC cycle
+            throughputTracker.stop();
+        }
+        throughputTracker = new ThroughputTracker(this, monitorLoop, taskRegistry, pauseState, throughputInterval, throughputHistorySize);
+        throughputTracker.start();
     }
 
-    private void scheduleMemoryRecoveryCheck() {
-        new BukkitRunnable() {
-            int attempts = 0;
-            final int maxAttempts = 6; // Try for up to 30 seconds (6 attempts * 5 seconds)
-            
-            @Override
-            public void run() {
-                MemoryInfo memInfo = getDetailedMemoryInfo();
-                attempts++;
-                
-                // Add 5% buffer below threshold to prevent rapid pause/resume cycles
-                if (memInfo.usagePercent < memoryThreshold - 0.05) {
-                    isPausedByMemory = false;
-                    
-                    // Check if we can resume based on player count and force pause
-                    int currentPlayers = Bukkit.getOnlinePlayers().size();
-                    if (currentPlayers <= maxPlayers && !isPausedByPlayers && !isForcePaused) {
-                        getLogger().info(String.format(
-                            "Memory recovered (%.1f%%). Resuming Chunky generation...", 
-                            memInfo.usagePercent * 100));
-                        
-                        // Resume all Chunky tasks
-                        Bukkit.getServer().getWorlds().forEach(world -> {
-                            try {
-                                chunky.continueTask(world.getName());
-                            } catch (Exception e) {
-                                // Task might not exist, ignore
-                            }
-                        });
-                    } else {
-                        // Build reason string
-                        StringBuilder reason = new StringBuilder();
-                        if (currentPlayers > maxPlayers) {
-                            reason.append("players online (").append(currentPlayers).append("/").append(maxPlayers).append(")");
-                        }
-                        if (isForcePaused) {
-                            if (reason.length() > 0) reason.append(" and ");
-                            reason.append("force paused");
-                        }
-                        if (isPausedByPlayers) {
-                            if (reason.length() > 0) reason.append(" and ");
-                            reason.append("paused by player count");
-                        }
-                        
-                        if (reason.length() > 0) {
-                            getLogger().info(String.format(
-                                "Memory recovered (%.1f%%), but %s. Chunky remains paused.", 
-                                memInfo.usagePercent * 100, reason.toString()));
-                        } else {
-                            // No blocking reason - just resume
-                            getLogger().info(String.format(
-                                "Memory recovered (%.1f%%). Resuming Chunky generation...", 
-                                memInfo.usagePercent * 100));
-                            
-                            Bukkit.getServer().getWorlds().forEach(world -> {
-                                try {
-                                    chunky.continueTask(world.getName());
-                                } catch (Exception e) {
-                                    // Task might not exist, ignore
-                                }
-                            });
-                        }
-                    }
-                    
-                    cancel();
-                } else if (attempts >= maxAttempts) {
-                    getLogger().warning(String.format(
-                        "Memory still high after %d seconds (%.1f%%). Chunky remains paused.", 
-                        (maxAttempts * resumeDelay / 20),
-                        memInfo.usagePercent * 100));
-                    getLogger().warning("Will retry next time Chunky attempts to run or memory drops naturally.");
-                    cancel();
-                } else {
-                    // Only log every other attempt to reduce spam
-                    if (attempts % 2 == 0) {
-                        getLogger().info(String.format(
-                            "Waiting for memory to recover... (%.1f%% used, attempt %d/%d)", 
-                            memInfo.usagePercent * 100, attempts, maxAttempts));
-                    }
-                }
+    private void startMetricsExporter() {
+        if (metricsExporter != null) {
+            if (metricsEnabled && metricsExporter.getHost().equals(metricsHost) && metricsExporter.getPort() == metricsPort) {
+                return;
             }
-        }.runTaskTimer(this, resumeDelay, resumeDelay);
+            metricsExporter.stop();
+            metricsExporter = null;
+        }
+        if (!metricsEnabled) {
+            return;
+        }
+        
+        MetricsExporter exporter = new MetricsExporter(monitorLoop, metricsHost, metricsPort, 20L, new PluginMetrics(this));
+        try {
+            exporter.start();
+        } catch (IOException e) {
+            exporter.stop();
+            getLogger().warning("Could not start the metrics endpoint on " + metricsHost + ":" + metricsPort + ": " + e.getMessage());
+            return;
+        }
+        metricsExporter = exporter;
+        getLogger().info("Serving metrics at http://" + metricsHost + ":" + metricsPort + "/metrics");
     }
 
-    private MemoryInfo getDetailedMemoryInfo() {
-        Runtime runtime = Runtime.getRuntime();
-        long maxMemory = runtime.maxMemory();
-        long totalMemory = runtime.totalMemory();
-        long freeMemory = runtime.freeMemory();
-        long usedMemory = totalMemory - freeMemory;
+    private void startAuditLog() {
+        if (auditLog != null) {
+            if (auditLogEnabled && auditLog.getMaxBytes() == auditLogMaxBytes && auditLog.getMaxFiles() == auditLogMaxFiles) {
+                return;
+            }
+            auditLog.stop();
+            auditLog = null;
+        }
+        if (!auditLogEnabled) {
+            return;
+        }
         
-        return new MemoryInfo(
-            usedMemory / (1024 * 1024),      // usedMB
-            maxMemory / (1024 * 1024),       // maxMB
-            totalMemory / (1024 * 1024),     // allocatedMB
-            (double) usedMemory / maxMemory  // usagePercent
-        );
+        auditLog = new AuditLog(this, getDataFolder().toPath().resolve("audit.jsonl"), auditLogMaxBytes, auditLogMaxFiles);
+        auditLog.start();
     }
 
-    private void cleanMemory() {
-        MemoryInfo beforeClean = getDetailedMemoryInfo();
-        
-        // Perform optimized GC
-        performOptimizedGC("player join");
-        
-        // Wait a moment for GC to complete, then log results
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                MemoryInfo afterClean = getDetailedMemoryInfo();
-                long freedMB = beforeClean.usedMB - afterClean.usedMB;
-                
-                if (freedMB > 0) {
-                    getLogger().info(String.format(
-                        "Memory cleaned: freed %dMB (%.1f%% -> %.1f%%)", 
-                        freedMB,
-                        beforeClean.usagePercent * 100,
-                        afterClean.usagePercent * 100));
-                }
+    /**
+     * Record a decision in the audit log along with the inputs it was made with
+     * @param world the world it applies to, or null for every world
+     * @param reason the reason set or cleared, or null if the decision was not about one
+     */
+    private void audit(String action, String world, PauseReason reason, int changed, String message) {
+        if (auditLog == null) {
+            return;
+        }
+        List<String> reasons = new ArrayList<>();
+        int global = pauseState.getGlobalReasons();
+        for (PauseReason value : PauseReason.values()) {
+            if (value.isSet(global)) {
+                reasons.add(value.getConfigKey());
             }
-        }.runTaskLater(this, 20L); // Wait 1 second
+        }
+        int players = world != null && playerIndex != null ? getRelevantPlayers(playerIndex, world) : Bukkit.getOnlinePlayers().size();
+        double mspt = tickSampler != null && tickSampler.isWarm() ? tickSampler.getPercentileMspt(0.95) : -1;
+        auditLog.record(new AuditEntry(System.currentTimeMillis(), action, world, reason != null ? reason.getConfigKey() : null, changed, players,
+            sampleLiveSet().getUsagePercent(), mspt, reasons, message != null ? org.bukkit.ChatColor.stripColor(message) : null));
     }
 
-    @Override
-    public boolean onCommand(CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
-        if (args.length == 0) {
-            MemoryInfo memInfo = getDetailedMemoryInfo();
-            int currentPlayers = Bukkit.getOnlinePlayers().size();
-            sender.sendMessage("§6═══════════════════════════════════");
-            sender.sendMessage("§6       ChunkyPause Status");
-            sender.sendMessage("§6═══════════════════════════════════");
-            sender.sendMessage("§7Max players: §e" + maxPlayers);
-            sender.sendMessage("§7Current players: §e" + currentPlayers + 
-                (currentPlayers > maxPlayers ? " §c(OVER LIMIT)" : " §a(OK)"));
-            sender.sendMessage("");
-            sender.sendMessage("§7Memory usage: §e" + String.format("%.1f%%", memInfo.usagePercent * 100));
-            sender.sendMessage("§7Memory: §e" + memInfo.usedMB + "MB §7/ §e" + memInfo.maxMB + "MB");
-            sender.sendMessage("§7Allocated: §e" + memInfo.allocatedMB + "MB");
-            sender.sendMessage("");
-            sender.sendMessage("§7JVM: §e" + jvmName);
-            sender.sendMessage("§7Version: §e" + jvmVersion);
-            sender.sendMessage("§7GC Type: §e" + gcType);
-            
-            if (isFixedHeapSize) {
-                sender.sendMessage("§7Heap: §eFixed (-Xmx ≈ -Xms)");
-            } else {
-                sender.sendMessage("§7Heap: §aDynamic");
+    private void onPlayerProximity(PlayerIndex index) {
+        for (String world : taskRegistry.getRunningWorlds()) {
+            checkPlayerProximity(index, world);
+        }
+        // Paused worlds still need a check so they can resume once players leave
+        for (WorldPauseState state : pauseState.getWorlds()) {
+            if (!taskRegistry.isRunning(state.getWorld())) {
+                checkPlayerProximity(index, state.getWorld());
             }
+        }
+    }
+
+    private void checkPlayerProximity(PlayerIndex index, String world) {
+        policyEngine.update(world, PauseReason.PLAYERS, getRelevantPlayers(index, world) > maxPlayers);
+    }
+
+    /**
+     * Players near the area Chunky is generating in a world, or exploring anywhere in it.
+     * Without progress yet, every player in the world counts.
+     */
+    private int getRelevantPlayers(PlayerIndex index, String world) {
+        GenerationProgressEvent progress = taskRegistry.getProgress(world);
+        int near = progress != null 
+            ? index.countNear(world, (int) progress.x(), (int) progress.z(), playerProximityRadius) 
+            : index.getPlayers(world);
+        return Math.max(near, index.getExploring(world));
+    }
+
+    private void onPauseConditions(PauseConditionMonitor monitor) {
+        if (externalThreshold <= 0) {
+            resume(PauseReason.EXTERNAL, "External pause conditions disabled");
+            return;
+        }
+        
+        policyEngine.update(PauseReason.EXTERNAL, monitor.getSeverity(), externalThreshold);
+        emitSample(PauseReason.EXTERNAL, monitor.getSeverity(), externalThreshold);
+    }
+
+    private void onMemorySample(MemorySnapshot memInfo) {
+        // History is kept even while monitoring is off so the trend is ready when it is turned back on
+        memoryHistory.record(memInfo);
+        exhaustionPredictor.update(memInfo, memoryHistory, memoryThreshold, memoryTrendWindow * 1_000_000_000L);
+        
+        // Skip monitoring if disabled
+        if (!memoryMonitoringEnabled) {
+            return;
+        }
+        
+        // Log memory usage periodically (every 60 seconds)
+        long currentTime = System.currentTimeMillis();
+        if (currentTime - lastMemoryLogTime >= 60000) {
+            // Formatting is deferred until the logger accepts the record
+            double usagePercent = memInfo.getUsagePercent() * 100;
+            double allocatedPercent = memInfo.getAllocatedPercent() * 100;
+            long usedMB = memInfo.getUsedMB();
+            long allocatedMB = memInfo.getAllocatedMB();
+            long maxMB = memInfo.getMaxMB();
+            getLogger().info(() -> String.format("Memory after GC: %.1f%% used (%dMB / %dMB allocated / %dMB max) | Allocated: %.1f%%", 
+                usagePercent, usedMB, allocatedMB, maxMB, allocatedPercent));
             
-            sender.sendMessage("");
-            sender.sendMessage("§7Paused by memory: §e" + isPausedByMemory);
-            sender.sendMessage("§7Paused by players: §e" + isPausedByPlayers);
-            sender.sendMessage("§7Force paused: §e" + isForcePaused);
-            sender.sendMessage("§7Clean on join: §e" + cleanMemoryOnJoin);
-            sender.sendMessage("§7Memory monitoring: " + (memoryMonitoringEnabled ? "§aENABLED" : "§cDISABLED"));
-            sender.sendMessage("§6═══════════════════════════════════");
-            sender.sendMessage("§7Commands:");
-            sender.sendMessage("§e  /chunkypause <number> §7- Set max players");
-            sender.sendMessage("§e  /chunkypause reload §7- Reload config");
-            sender.sendMessage("§e  /chunkypause gc §7- Force GC");
-            sender.sendMessage("§e  /chunkypause forcepause §7- Toggle force pause");
-            sender.sendMessage("§e  /chunkypause togglememory §7- Toggle memory monitoring");
-            return true;
-        }
-        
-        // Handle reload command
-        if (args[0].equalsIgnoreCase("reload")) {
-            reloadConfig();
-            loadConfiguration();
-            sender.sendMessage("§aConfiguration reloaded!");
-            sender.sendMessage("§7Max players: §e" + maxPlayers);
-            return true;
-        }
-        
-        // Handle gc command
-        if (args[0].equalsIgnoreCase("gc")) {
-            sender.sendMessage("§6Forcing garbage collection...");
-            lastGCTime = 0; // Reset cooldown
-            performOptimizedGC("manual command");
-            return true;
-        }
-        
-        // Handle forcepause command
-        if (args[0].equalsIgnoreCase("forcepause")) {
-            isForcePaused = !isForcePaused;
-            
-            // Save the force pause state to config
-            getConfig().set("force-paused", isForcePaused);
-            saveConfig();
-            
-            if (isForcePaused) {
-                // Pause Chunky
-                sender.sendMessage("§6Force pausing Chunky generation...");
-                Bukkit.getServer().getWorlds().forEach(world -> {
-                    try {
-                        chunky.pauseTask(world.getName());
-                    } catch (Exception e) {
-                        // Task might not be running, ignore
-                    }
-                });
-                sender.sendMessage("§aChunky is now force paused. It will not resume automatically.");
-                sender.sendMessage("§7Use §e/chunkypause forcepause §7again to allow automatic resuming.");
-                sender.sendMessage("§7This state will persist across server restarts.");
-            } else {
-                // Allow Chunky to resume if conditions allow
-                sender.sendMessage("§aForce pause disabled. Chunky can now resume automatically.");
-                sender.sendMessage("§7This state has been saved to config.");
-                
-                // Check if we should resume immediately
-                int currentPlayers = Bukkit.getOnlinePlayers().size();
-                MemoryInfo memInfo = getDetailedMemoryInfo();
-                
-                if (currentPlayers <= maxPlayers && memInfo.usagePercent < memoryThreshold) {
-                    sender.sendMessage("§aConditions met - resuming Chunky generation...");
-                    Bukkit.getServer().getWorlds().forEach(world -> {
-                        try {
-                            chunky.continueTask(world.getName());
-                        } catch (Exception e) {
-                            // Task might not exist, ignore
-                        }
-                    });
-                } else {
-                    sender.sendMessage("§7Chunky will resume when conditions are met:");
-                    if (currentPlayers > maxPlayers) {
-                        sender.sendMessage("§7  - Players: §e" + currentPlayers + "/" + maxPlayers + " §c(too many)");
-                    }
-                    if (memInfo.usagePercent >= memoryThreshold) {
-                        sender.sendMessage("§7  - Memory: §e" + String.format("%.1f%%", memInfo.usagePercent * 100) + " §c(too high)");
-                    }
-                }
+            // Warn if allocated memory is getting too high
+            if (allocatedPercent > 90) {
+                getLogger().warning(() -> "§eAllocated memory very high (" + String.format("%.1f%%", allocatedPercent) + 
+                                  ") - May cause lag and high MSPT");
             }
             
-            return true;
+            lastMemoryLogTime = currentTime;
         }
         
-        // Handle togglememory command
-        if (args[0].equalsIgnoreCase("togglememory")) {
-            memoryMonitoringEnabled = !memoryMonitoringEnabled;
-            
-            // Save the state to config
-            getConfig().set("memory-monitoring-enabled", memoryMonitoringEnabled);
-            saveConfig();
-            
-            if (memoryMonitoringEnabled) {
-                sender.sendMessage("§aMemory monitoring §aENABLED");
-                sender.sendMessage("§7The plugin will now:");
-                sender.sendMessage("§7  - Monitor memory usage continuously");
-                sender.sendMessage("§7  - Auto-pause Chunky when memory threshold is exceeded");
-                sender.sendMessage("§7  - Perform GC when needed");
-                sender.sendMessage("§7  - Clean memory on player join (if clean-memory-on-join is enabled)");
-                sender.sendMessage("§7  - Use adaptive strategies for your GC type (§e" + gcType + "§7)");
-                
-                if (isFixedHeapSize) {
-                    sender.sendMessage("§7  - Monitor §eUSED§7 memory only (fixed heap detected)");
+        boolean overThreshold = memInfo.getUsagePercent() > memoryThreshold;
+        if (pauseState.isPaused(PauseReason.MEMORY)) {
+            policyEngine.update(PauseReason.MEMORY, !isMemoryRecovered(memInfo));
+        } else if (overThreshold || isExhaustionPredicted()) {
+            // Nothing to hold back while no task is running or paused
+            memoryPredicted = !overThreshold;
+            policyEngine.update(PauseReason.MEMORY, taskRegistry.getRunningCount() > 0 || pauseState.getPausedCount() > 0);
+        } else {
+            policyEngine.update(PauseReason.MEMORY, false);
+        }
+        emitSample(PauseReason.MEMORY, memInfo.getUsagePercent(), memoryThreshold);
+    }
+
+    /**
+     * Record a monitor's reading in any active flight recording
+     */
+    private void emitSample(PauseReason reason, double value, double threshold) {
+        MonitorSampleEvent.emit(reason.getConfigKey(), value, threshold, pauseState.isPaused(reason));
+    }
+
+    private boolean isExhaustionPredicted() {
+        return predictivePauseEnabled && exhaustionPredictor.getSecondsToThreshold() < predictiveHorizon;
+    }
+
+    /**
+     * Apply side effects and log once the policy engine sets or clears a reason
+     */
+    private void onPolicyTransition(String world, PauseReason reason, boolean paused, int changed) {
+        if (world != null) {
+            audit(paused ? "pause" : "resume", world, reason, changed, null);
+            onWorldTransition(world, reason, paused, changed);
+            return;
+        }
+        if (!paused) {
+            String message = describeRecovery(reason);
+            audit("resume", null, reason, changed, message);
+            logResume(message, changed);
+            return;
+        }
+        audit("pause", null, reason, changed, memoryPredicted && reason == PauseReason.MEMORY ? "Predicted exhaustion" : null);
+        
+        switch (reason) {
+            case PLAYERS:
+                getLogger().info("Player count (" + playerCount + ") exceeded limit (" + maxPlayers + "). Pausing Chunky...");
+                break;
+            case MEMORY:
+                onMemoryPaused(sampleLiveSet());
+                break;
+            case TICK_TIME:
+                if (tickSampler != null) {
+                    getLogger().warning(String.format("Tick time too high (p95 %.1fms > %.1fms). Pausing Chunky generation...", 
+                        tickSampler.getPercentileMspt(0.95), msptHighWatermark));
                 }
-                
-                // If re-enabling and memory was paused, check if we should resume
-                if (isPausedByMemory) {
-                    MemoryInfo memInfo = getDetailedMemoryInfo();
-                    if (memInfo.usagePercent < (memoryThreshold - 0.05)) { // 5% buffer
-                        isPausedByMemory = false;
-                        sender.sendMessage("§aMemory is acceptable - resuming tasks");
-                        if (!isPausedByPlayers && !isForcePaused) {
-                            Bukkit.getServer().getWorlds().forEach(world -> {
-                                try {
-                                    chunky.continueTask(world.getName());
-                                } catch (Exception e) {
-                                    // Ignore
-                                }
-                            });
-                        }
-                    }
+                break;
+            case NATIVE_MEMORY:
+                NativeMemorySource source = nativeExceeded;
+                if (source != null) {
+                    long usedMB = nativeMemoryMonitor.getUsage(source) / (1024 * 1024);
+                    getLogger().warning(() -> "Native memory over threshold (" + source.getDisplayName() + " " + usedMB + "MB > " + 
+                                      nativeThresholdsMB[source.ordinal()] + "MB). Pausing Chunky generation...");
                 }
-            } else {
-                sender.sendMessage("§cMemory monitoring §cDISABLED");
-                sender.sendMessage("§7The plugin will now:");
-                sender.sendMessage("§7  - Only manage pause/resume based on player count");
-                sender.sendMessage("§7  - Not automatically pause for high memory");
-                sender.sendMessage("§7  - Not clean memory on player join");
-                sender.sendMessage("§7  - Manual GC via §e/chunkypause gc §7still available");
-                
-                // If disabling and only paused by memory (not by players or force), resume
-                if (isPausedByMemory && !isPausedByPlayers && !isForcePaused) {
-                    isPausedByMemory = false;
-                    sender.sendMessage("§eMemory pause cleared - resuming tasks");
-                    Bukkit.getServer().getWorlds().forEach(world -> {
-                        try {
-                            chunky.continueTask(world.getName());
-                        } catch (Exception e) {
-                            // Ignore
-                        }
-                    });
+                break;
+            case CONTAINER_MEMORY:
+                CgroupMemoryReader cgroup = nativeMemoryMonitor.getCgroup();
+                if (cgroup != null && cgroup.hasLimit()) {
+                    long workingSetMB = cgroup.getWorkingSetBytes() / (1024 * 1024);
+                    long limitMB = cgroup.getLimitBytes() / (1024 * 1024);
+                    double usage = cgroup.getWorkingSetPercent();
+                    getLogger().warning(() -> String.format(
+                        "Container memory near its limit (%dMB / %dMB working set, %.1f%%). Pausing Chunky generation...", 
+                        workingSetMB, limitMB, usage * 100));
                 }
-            }
-            
-            sender.sendMessage("§7This setting has been saved to config.yml");
-            
-            return true;
+                break;
+            case DISK_IO:
+                getLogger().warning(String.format(
+                    "Disk under pressure (%.1fms per write, queue depth %.1f). Pausing Chunky generation...", 
+                    diskIoMonitor.getWriteLatencyMs(), diskIoMonitor.getQueueDepth()));
+                break;
+            case CPU:
+                getLogger().warning(String.format(
+                    "Main thread starved of CPU (%.0f%% of the last second lost waiting, machine at %.0f%%). Pausing Chunky generation...", 
+                    cpuSampler.getMainStarvation() * 100, cpuSampler.getSystemLoad() * 100));
+                break;
+            case EXTERNAL:
+                PauseConditionMonitor.ConditionState top = pauseConditions.getTop();
+                if (top != null) {
+                    getLogger().info(String.format("Pause condition %s reports severity %.2f. Pausing Chunky generation...", 
+                        top, top.getSeverity()));
+                }
+                break;
+            default:
+                break;
         }
+        getLogger().info("Paused " + changed + " Chunky task(s)");
         
-        // Handle setting max players
-        try {
-            final int newMaxPlayers = Integer.parseInt(args[0]);
-            if (newMaxPlayers < 0) {
-                sender.sendMessage("§cError: Player count must be 0 or greater");
-                return false;
-            }
-            
-            this.maxPlayers = newMaxPlayers;
-            getConfig().set("max-players", newMaxPlayers);
-            saveConfig();
-            sender.sendMessage("§aMax players changed to: §e" + newMaxPlayers);
-            
-            // Check if we need to pause/resume immediately
-            int currentPlayers = Bukkit.getOnlinePlayers().size();
-            if (currentPlayers > maxPlayers && !isPausedByPlayers) {
-                isPausedByPlayers = true;
-                Bukkit.getServer().getWorlds().forEach(world -> {
-                    try {
-                        chunky.pauseTask(world.getName());
-                    } catch (Exception e) {
-                        // Ignore
-                    }
-                });
-                sender.sendMessage("§6Chunky paused (current players: " + currentPlayers + ")");
-            } else if (currentPlayers <= maxPlayers && isPausedByPlayers && !isPausedByMemory && !isForcePaused) {
-                isPausedByPlayers = false;
-                Bukkit.getServer().getWorlds().forEach(world -> {
-                    try {
-                        chunky.continueTask(world.getName());
-                    } catch (Exception e) {
-                        // Ignore
-                    }
-                });
-                sender.sendMessage("§aChunky resumed (current players: " + currentPlayers + ")");
-            } else if (isForcePaused) {
-                sender.sendMessage("§7Chunky is force paused. Use §e/chunkypause forcepause §7to allow resuming.");
-            }
-            
-            return true;
-        } catch (NumberFormatException e) {
-            sender.sendMessage("§cError: Please provide a valid number");
-            sender.sendMessage("§7Use /chunkypause <number> to set max players");
+        if (reason == PauseReason.MEMORY && !memoryPredicted) {
+            // Perform optimized GC based on JDK; its collection feeds the recovery check
+            performOptimizedGC("high memory");
+        } else if (reason == PauseReason.NATIVE_MEMORY && nativeExceeded == NativeMemorySource.DIRECT_BUFFERS) {
+            // Unreachable direct buffers are only released once a collection runs their cleaners
+            performOptimizedGC("direct buffers");
+        }
+    }
+
+    private void onWorldTransition(String world, PauseReason reason, boolean paused, int changed) {
+        if (reason != PauseReason.PLAYERS) {
+            getLogger().info((paused ? "Pausing" : "Resuming") + " Chunky in " + world + " (" + reason.getDisplayName() + ")");
+            return;
+        }
+        int players = playerIndex != null ? getRelevantPlayers(playerIndex, world) : 0;
+        if (paused) {
+            getLogger().info("Players near generation in " + world + " (" + players + ") exceeded limit (" + 
+                           maxPlayers + "). Pausing Chunky in that world...");
+        } else if (changed > 0) {
+            getLogger().info("Players near generation in " + world + " (" + players + ") at/below limit (" + 
+                           maxPlayers + "). Resumed Chunky in that world.");
+        } else {
+            WorldPauseState state = pauseState.getWorld(world);
+            getLogger().info("Players near generation in " + world + " (" + players + ") at/below limit (" + maxPlayers + 
+                           ")" + (state != null ? ", but it remains paused (" + PauseReason.describe(state.getReasons()) + ")." : "."));
+        }
+    }
+
+    private void onMemoryPaused(MemorySnapshot memInfo) {
+        double usagePercent = memInfo.getUsagePercent() * 100;
+        if (memoryPredicted) {
+            // No collection here: the live set is what is growing, and pausing is what stops it
+            double seconds = exhaustionPredictor.getSecondsToThreshold();
+            double growthMB = exhaustionPredictor.getLiveSetGrowth() * 60 / (1024 * 1024);
+            getLogger().warning(() -> String.format(
+                "Heap projected to reach the memory threshold in %.0fs (%.1f%% after GC, live set +%.0fMB/min). Pausing Chunky generation...", 
+                seconds, usagePercent, growthMB));
+        } else {
+            getLogger().warning(() -> String.format(
+                "Memory usage critical (%.1f%% after GC)! Pausing Chunky generation and cleaning memory...", usagePercent));
+        }
+    }
+
+    private String describeRecovery(PauseReason reason) {
+        switch (reason) {
+            case PLAYERS:
+                return "Player count (" + playerCount + ") at/below limit (" + maxPlayers + ")";
+            case MEMORY:
+                return String.format("Memory recovered (%.1f%%)", sampleLiveSet().getUsagePercent() * 100);
+            case TICK_TIME:
+                return tickSampler != null 
+                    ? String.format("Tick time recovered (p95 %.1fms)", tickSampler.getPercentileMspt(0.95)) 
+                    : "Tick time recovered";
+            case CONTAINER_MEMORY:
+                CgroupMemoryReader cgroup = nativeMemoryMonitor.getCgroup();
+                return cgroup != null 
+                    ? String.format("Container memory recovered (%.1f%%)", cgroup.getWorkingSetPercent() * 100) 
+                    : "Container memory recovered";
+            case NATIVE_MEMORY:
+                return "Native memory recovered";
+            case EXTERNAL:
+                return "External pause conditions cleared";
+            case CPU:
+                return String.format("Main thread CPU recovered (machine at %.0f%%)", cpuSampler.getSystemLoad() * 100);
+            case DISK_IO:
+                return String.format("Disk I/O recovered (%.1fms per write, queue depth %.1f)", 
+                    diskIoMonitor.getWriteLatencyMs(), diskIoMonitor.getQueueDepth());
+            default:
+                return "No longer paused by " + reason.getDisplayName();
+        }
+    }
+
+    private void applyForcePause() {
+        if (forcePaused) {
+            getLogger().info("§eApplying force pause from config...");
+            pauseState.pauseAll(PauseReason.FORCED);
+            getLogger().info("§eChunky is force paused - use /chunkypause forcepause to resume");
+        } else {
+            pauseState.resumeAll(PauseReason.FORCED);
+        }
+        
+        for (String world : forcePausedWorlds) {
+            pauseState.pause(world, PauseReason.FORCED);
+        }
+    }
+
+    private void startTickThrottle() {
+        if (!tickThrottleEnabled) {
+            resume(PauseReason.TICK_TIME, "Tick throttle disabled");
+        }
+        
+        if (dutyCycleEnabled) {
+            PidController controller = new PidController(dutyCycleKp, dutyCycleKi, dutyCycleKd, dutyCycleMinRatio, 1.0);
+            dutyCycle = new DutyCycleScheduler(monitorLoop, taskRegistry, pauseState, dutyCyclePeriod, controller);
+            dutyCycle.start();
+        }
+        
+        if (!tickThrottleEnabled && !dutyCycleEnabled) {
+            return;
+        }
+        
+        // Sample every tick, evaluate the watermarks once per second
+        tickSampler = new TickSampler(monitorLoop, tickWindow, 20, this::checkTickTime);
+        tickSampler.start();
+    }
+
+    private void checkTickTime(TickSampler sampler) {
+        if (chunky == null || !sampler.isWarm()) {
+            return;
+        }
+        
+        if (dutyCycle != null) {
+            updateDutyCycle(sampler);
+        }
+        
+        if (!tickThrottleEnabled) {
+            return;
+        }
+        
+        policyEngine.update(PauseReason.TICK_TIME, sampler.getPercentileMspt(0.95), msptHighWatermark, msptLowWatermark);
+        emitSample(PauseReason.TICK_TIME, sampler.getPercentileMspt(0.95), msptHighWatermark);
+    }
+
+    private void updateDutyCycle(TickSampler sampler) {
+        // Normalized headroom against the tick target and the heap threshold; the tighter one wins
+        double msptError = (dutyCycleTargetMspt - sampler.getAverageMspt()) / dutyCycleTargetMspt;
+        double heapError = memoryMonitoringEnabled 
+            ? (memoryThreshold - sampleLiveSet().getUsagePercent()) / memoryThreshold 
+            : 1.0;
+        double diskError = 1.0 - diskPressure;
+        double cpuError = cpuStarvationThreshold > 0 ? 1.0 - cpuStarvation / cpuStarvationThreshold : 1.0;
+        dutyCycle.update(Math.min(Math.min(msptError, heapError), Math.min(diskError, cpuError)), 1.0);
+    }
+
+    private void onTaskStarted(String world) {
+        // A task started (or was continued manually) while pause reasons are set
+        if (pauseState.reconcile(world)) {
+            audit("reconcile", world, null, 1, "Task started while paused (" + 
+                  PauseReason.describe(pauseState.getWorld(world).getReasons()) + ")");
+            getLogger().info("Chunky task in " + world + " started while paused (" + 
+                           PauseReason.describe(pauseState.getWorld(world).getReasons()) + "). Pausing it...");
+        }
+    }
+
+    /**
+     * Clear a world-wide reason right away, bypassing its policy, and log if generation was held by it
+     */
+    private void resume(PauseReason reason, String message) {
+        boolean paused = pauseState.isPaused(reason);
+        int resumed = policyEngine.force(reason, false);
+        if (paused) {
+            audit("force-resume", null, reason, resumed, message);
+            logResume(message, resumed);
+        }
+    }
+
+    /**
+     * Log a cleared reason and whether generation actually resumed
+     */
+    private void logResume(String message, int resumed) {
+        if (pauseState.isPausedByAny()) {
+            getLogger().info(message + ", but Chunky remains paused (" + 
+                           PauseReason.describe(pauseState.getGlobalReasons()) + ").");
+        } else if (resumed > 0) {
+            getLogger().info(message + ". Resumed " + resumed + " Chunky task(s).");
+        } else {
+            getLogger().info(message + ".");
+        }
+    }
+
+    private void performOptimizedGC(String reason) {
+        // Runs as soon as the cooldown allows, folding in any pending join cleanups
+        cleanupScheduler.requestUrgent(reason);
+    }
+
+    /**
+     * Check if the live set is far enough below the threshold, and not climbing back, to resume.
+     * The memory policy's min-paused time gives the cleanup a chance first.
+     */
+    private boolean isMemoryRecovered(MemorySnapshot memInfo) {
+        // Hysteresis band below threshold to prevent rapid pause/resume cycles
+        if (memInfo.getUsagePercent() >= memoryThreshold - policyEngine.getPolicy(PauseReason.MEMORY).getBand()) {
             return false;
         }
+        
+        // Hold off while the live set is climbing fast enough to cross the threshold again within the trend window
+        double projected = memInfo.getUsagePercent() + 
+            memoryHistory.getSlopePercent(memoryTrendWindow * 1_000_000_000L) * memoryTrendWindow;
+        if (projected >= memoryThreshold) {
+            return false;
+        }
+        
+        return !isExhaustionPredicted();
     }
 
-    @Override
-    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
-        if (args.length == 1) {
-            return List.of("reload", "gc", "forcepause", "0", "1", "2", "5", "10");
+    /**
+     * Latest post-GC sample, falling back to a live Runtime reading before the first collection.
+     * The returned snapshot is reused by the next call.
+     */
+    private MemorySnapshot sampleLiveSet() {
+        if (memoryMonitor == null || !memoryMonitor.copyLatest(liveSet)) {
+            memoryManager.sample(liveSet);
         }
-        return List.of();
+        return liveSet;
+    }
+
+    private void cleanMemory() {
+        cleanupScheduler.request("player join", result -> {
+            long freedMB = result.getFreedUsedMB();
+            
+            if (freedMB > 0) {
+                getLogger().info(String.format(
+                    "Memory cleaned: freed %dMB (%.1f%% -> %.1f%%)", 
+                    freedMB,
+                    result.getBefore().getUsagePercent() * 100,
+                    result.getAfter().getUsagePercent() * 100));
+            }
+        });
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerJoin(final PlayerJoinEvent event) {
         final Server server = event.getPlayer().getServer();
-        final int playerCount = server.getOnlinePlayers().size();
-        
-        // Check if we should pause Chunky based on player count
-        if (playerCount > maxPlayers && chunky != null && !isPausedByPlayers) {
-            isPausedByPlayers = true;
-            getLogger().info("Player " + event.getPlayer().getName() + " joined. Player count (" + 
-                           playerCount + ") exceeded limit (" + maxPlayers + "). Pausing Chunky...");
-            server.getWorlds().forEach(world -> {
-                try {
-                    chunky.pauseTask(world.getName());
-                } catch (Exception e) {
-                    // Task might not be running, ignore
-                }
-            });
+        playerCount = server.getOnlinePlayers().size();
+        
+        // Pause right away; the players policy decides how long a quiet server waits before resuming
+        // With proximity enabled the player index decides per world instead
+        if (playerIndex == null) {
+            policyEngine.update(PauseReason.PLAYERS, playerCount > maxPlayers);
         }
         
         // Clean memory when player joins (if enabled and memory monitoring is enabled)
+        // A burst of joins shares a single cleanup once the coalescing window closes
         if (cleanMemoryOnJoin && memoryMonitoringEnabled) {
-            getLogger().info("Player joined. Cleaning memory...");
-            // Delay slightly to not block the join process
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    cleanMemory();
-                }
-            }.runTaskLater(this, 20L); // Wait 1 second after join
+            cleanMemory();
         }
     }
 
@@ -759,47 +1043,13 @@ public final class ChunkyPause extends JavaPlugin implements Listener {
     public void onPlayerQuit(final PlayerQuitEvent event) {
         final Server server = event.getPlayer().getServer();
         
-        // Delay check to ensure player is fully removed from count
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                final int playerCount = server.getOnlinePlayers().size();
-                
-                // Resume Chunky if player count is at or below threshold and not force paused
-                if (playerCount <= maxPlayers && chunky != null && isPausedByPlayers && !isPausedByMemory && !isForcePaused) {
-                    isPausedByPlayers = false;
-                    getLogger().info("Player count (" + playerCount + ") at/below limit (" + maxPlayers + 
-                                   "). Resuming Chunky generation...");
-                    server.getWorlds().forEach(world -> {
-                        try {
-                            chunky.continueTask(world.getName());
-                        } catch (Exception e) {
-                            // Task might not exist, ignore
-                        }
-                    });
-                } else if (playerCount > maxPlayers) {
-                    getLogger().info("Players still online (" + playerCount + "). Keeping Chunky paused.");
-                } else if (isForcePaused) {
-                    getLogger().info("Player count acceptable, but Chunky is force paused. Use /chunkypause forcepause to resume.");
-                }
-            }
-        }.runTaskLater(this, 40L); // Wait 2 seconds after quit
-    }
-
-    private static class MemoryInfo {
-        final long usedMB;
-        final long maxMB;
-        final long allocatedMB;
-        final double usagePercent;
-
-        MemoryInfo(long usedMB, long maxMB, long allocatedMB, double usagePercent) {
-            this.usedMB = usedMB;
-            this.maxMB = maxMB;
-            this.allocatedMB = allocatedMB;
-            this.usagePercent = usagePercent;
+        // The quitting player is still counted while the event runs
+        playerCount = Math.max(0, server.getOnlinePlayers().size() - 1);
+        if (playerIndex == null) {
+            policyEngine.update(PauseReason.PLAYERS, playerCount > maxPlayers);
         }
     }
-    
+
     // Public getters for command handler
     public int getMaxPlayers() {
         return maxPlayers;
@@ -814,19 +1064,171 @@ public final class ChunkyPause extends JavaPlugin implements Listener {
     }
     
     public boolean isPausedByMemory() {
-        return isPausedByMemory;
+        return pauseState != null && pauseState.isPaused(PauseReason.MEMORY);
     }
     
     public boolean isPausedByPlayers() {
-        return isPausedByPlayers;
+        return pauseState != null && pauseState.isPaused(PauseReason.PLAYERS);
     }
     
     public boolean isForcePaused() {
-        return isForcePaused;
+        return forcePaused;
+    }
+    
+    public boolean isPausedByNativeMemory() {
+        return pauseState != null && pauseState.isPaused(PauseReason.NATIVE_MEMORY);
+    }
+    
+    public boolean isPausedByContainerMemory() {
+        return pauseState != null && pauseState.isPaused(PauseReason.CONTAINER_MEMORY);
+    }
+    
+    public boolean isPausedByCpu() {
+        return pauseState != null && pauseState.isPaused(PauseReason.CPU);
+    }
+    
+    public CpuSampler getCpuSampler() {
+        return cpuSampler;
+    }
+    
+    /**
+     * Player index, or null unless player proximity is enabled
+     */
+    public PlayerIndex getPlayerIndex() {
+        return playerIndex;
+    }
+    
+    /**
+     * Players that count toward the limit in a world with proximity enabled
+     */
+    public int getRelevantPlayers(String world) {
+        return playerIndex != null ? getRelevantPlayers(playerIndex, world) : playerCount;
+    }
+    
+    /**
+     * Heap usage as the memory checks see it: the latest post-GC live set.
+     * The returned snapshot is reused by the next call.
+     */
+    public MemorySnapshot getLiveSet() {
+        return sampleLiveSet();
+    }
+    
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+    
+    /**
+     * Metrics endpoint, or null unless enabled and bound
+     */
+    public MetricsExporter getMetricsExporter() {
+        return metricsExporter;
+    }
+    
+    /**
+     * Audit log, or null if disabled
+     */
+    public AuditLog getAuditLog() {
+        return auditLog;
+    }
+    
+    public ThroughputTracker getThroughputTracker() {
+        return throughputTracker;
+    }
+    
+    public int getPlayerProximityRadius() {
+        return playerProximityRadius;
+    }
+    
+    public boolean isPausedByDiskIo() {
+        return pauseState != null && pauseState.isPaused(PauseReason.DISK_IO);
+    }
+    
+    public DiskIoMonitor getDiskIoMonitor() {
+        return diskIoMonitor;
+    }
+    
+    public boolean isPausedByExternal() {
+        return pauseState != null && pauseState.isPaused(PauseReason.EXTERNAL);
+    }
+    
+    public PauseConditionMonitor getPauseConditions() {
+        return pauseConditions;
+    }
+    
+    public boolean isPausedByTickTime() {
+        return pauseState != null && pauseState.isPaused(PauseReason.TICK_TIME);
+    }
+    
+    public PauseStateMachine getPauseState() {
+        return pauseState;
+    }
+    
+    public MemoryHistory getMemoryHistory() {
+        return memoryHistory;
+    }
+    
+    public NativeMemoryMonitor getNativeMemoryMonitor() {
+        return nativeMemoryMonitor;
+    }
+    
+    /**
+     * Configured threshold for a native memory source in MB, 0 if disabled
+     */
+    public long getNativeThresholdMB(NativeMemorySource source) {
+        return nativeThresholdsMB[source.ordinal()];
+    }
+    
+    public ExhaustionPredictor getExhaustionPredictor() {
+        return exhaustionPredictor;
+    }
+    
+    public TaskRegistry getTaskRegistry() {
+        return taskRegistry;
+    }
+    
+    public TickSampler getTickSampler() {
+        return tickSampler;
+    }
+    
+    public double getMsptHighWatermark() {
+        return msptHighWatermark;
+    }
+    
+    public PolicyEngine getPolicyEngine() {
+        return policyEngine;
+    }
+    
+    public DutyCycleScheduler getDutyCycle() {
+        return dutyCycle;
     }
     
     public void setForcePaused(boolean forcePaused) {
-        this.isForcePaused = forcePaused;
+        this.forcePaused = forcePaused;
+        getConfig().set("force-paused", forcePaused);
+        saveConfig();
+        
+        int changed = forcePaused ? pauseState.pauseAll(PauseReason.FORCED) : pauseState.resumeAll(PauseReason.FORCED);
+        audit(forcePaused ? "force-pause" : "force-resume", null, PauseReason.FORCED, changed, "Force pause toggled by command");
+    }
+    
+    /**
+     * Toggle force pause for a single world, leaving other worlds untouched
+     * @return the new force pause state of the world
+     */
+    public boolean toggleWorldForcePaused(String world) {
+        boolean paused = !forcePausedWorlds.contains(world);
+        boolean changed;
+        if (paused) {
+            forcePausedWorlds.add(world);
+            changed = pauseState.pause(world, PauseReason.FORCED);
+        } else {
+            forcePausedWorlds.remove(world);
+            changed = pauseState.resume(world, PauseReason.FORCED);
+        }
+        audit(paused ? "force-pause" : "force-resume", world, PauseReason.FORCED, changed ? 1 : 0, "Force pause toggled by command");
+        getConfig().set("force-paused-worlds", forcePausedWorlds);
+        saveConfig();
+        return paused;
     }
     
     public boolean isCleanMemoryOnJoin() {
@@ -850,7 +1252,11 @@ public final class ChunkyPause extends JavaPlugin implements Listener {
     }
     
     public void resetGCCooldown() {
-        lastGCTime = 0;
+        cleanupScheduler.resetCooldown();
+    }
+    
+    public CleanupScheduler getCleanupScheduler() {
+        return cleanupScheduler;
     }
     
     public boolean isMemoryMonitoringEnabled() {
@@ -863,65 +1269,51 @@ public final class ChunkyPause extends JavaPlugin implements Listener {
         saveConfig();
         
         // If re-enabling and memory was paused, check if we should resume
-        if (enabled && isPausedByMemory) {
-            MemoryInfo memInfo = getDetailedMemoryInfo();
-            if (memInfo.usagePercent < (memoryThreshold - 0.05)) { // 5% buffer
-                isPausedByMemory = false;
-                getLogger().info("§aMemory monitoring re-enabled and memory is acceptable - resuming tasks");
-                if (!isPausedByPlayers && !isForcePaused) {
-                    Bukkit.getServer().getWorlds().forEach(world -> {
-                        try {
-                            chunky.continueTask(world.getName());
-                        } catch (Exception e) {
-                            // Ignore
-                        }
-                    });
-                }
+        if (enabled && isPausedByMemory()) {
+            MemorySnapshot memInfo = sampleLiveSet();
+            if (memInfo.getUsagePercent() < memoryThreshold - policyEngine.getPolicy(PauseReason.MEMORY).getBand()) {
+                resume(PauseReason.MEMORY, "§aMemory monitoring re-enabled and memory is acceptable");
             }
         }
         
-        // If disabling and only paused by memory (not by players or force), resume
-        if (!enabled && isPausedByMemory && !isPausedByPlayers && !isForcePaused) {
-            isPausedByMemory = false;
-            getLogger().info("§eMemory monitoring disabled - resuming tasks");
-            Bukkit.getServer().getWorlds().forEach(world -> {
-                try {
-                    chunky.continueTask(world.getName());
-                } catch (Exception e) {
-                    // Ignore
-                }
-            });
+        // If disabling, memory can no longer hold Chunky paused
+        if (!enabled) {
+            resume(PauseReason.MEMORY, "§eMemory monitoring disabled");
         }
     }
     
     public void checkPlayerThreshold(CommandSender sender) {
         int currentPlayers = Bukkit.getOnlinePlayers().size();
+        playerCount = currentPlayers;
         
-        if (currentPlayers > maxPlayers && !isPausedByPlayers) {
-            isPausedByPlayers = true;
-            Bukkit.getServer().getWorlds().forEach(world -> {
-                try {
-                    chunky.pauseTask(world.getName());
-                } catch (Exception e) {
-                    // Ignore
-                }
-            });
+        if (playerIndex != null) {
+            // Worlds are checked against the new limit on the next sample
             if (sender != null) {
-                sender.sendMessage(org.bukkit.ChatColor.GOLD + "Chunky paused (current players: " + currentPlayers + ")");
+                sender.sendMessage(org.bukkit.ChatColor.GRAY + "Player proximity is enabled; each world is checked against the new limit within a second.");
             }
-        } else if (currentPlayers <= maxPlayers && isPausedByPlayers && !isPausedByMemory && !isForcePaused) {
-            isPausedByPlayers = false;
-            Bukkit.getServer().getWorlds().forEach(world -> {
-                try {
-                    chunky.continueTask(world.getName());
-                } catch (Exception e) {
-                    // Ignore
-                }
-            });
+            return;
+        }
+        
+        // An explicit limit change applies immediately, without the players policy's delays
+        if (currentPlayers > maxPlayers && !isPausedByPlayers()) {
+            int paused = policyEngine.force(PauseReason.PLAYERS, true);
+            audit("force-pause", null, PauseReason.PLAYERS, paused, "Player limit changed to " + maxPlayers);
             if (sender != null) {
+                sender.sendMessage(org.bukkit.ChatColor.GOLD + "Chunky paused (current players: " + currentPlayers + ")");
+            }
+        } else if (currentPlayers <= maxPlayers && isPausedByPlayers()) {
+            int resumed = policyEngine.force(PauseReason.PLAYERS, false);
+            audit("force-resume", null, PauseReason.PLAYERS, resumed, "Player limit changed to " + maxPlayers);
+            if (sender == null) {
+                return;
+            }
+            if (pauseState.isPausedByAny()) {
+                sender.sendMessage(org.bukkit.ChatColor.GRAY + "Player limit OK, but Chunky remains paused (" + 
+                    PauseReason.describe(pauseState.getGlobalReasons()) + ")");
+            } else {
                 sender.sendMessage(org.bukkit.ChatColor.GREEN + "Chunky resumed (current players: " + currentPlayers + ")");
             }
-        } else if (isForcePaused && sender != null) {
+        } else if (forcePaused && sender != null) {
             sender.sendMessage(org.bukkit.ChatColor.GRAY + "Chunky is force paused. Use " + org.bukkit.ChatColor.YELLOW + "/chunkypause forcepause " + org.bukkit.ChatColor.GRAY + "to allow resuming.");
         }
     }
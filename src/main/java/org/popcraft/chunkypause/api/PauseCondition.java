@@ -0,0 +1,25 @@
+package org.popcraft.chunkypause.api;
+
+/**
+ * A load signal from another plugin that can hold Chunky generation back,
+ * e.g. a running backup or map render.
+ * Register an implementation with Bukkit's services manager:
+ * <pre>
+ * Bukkit.getServicesManager().register(PauseCondition.class, condition, plugin, ServicePriority.Normal);
+ * </pre>
+ * Registered conditions are evaluated once per second on the main thread and the highest
+ * severity decides whether generation pauses. Unregister, or disable the owning plugin, to remove it.
+ */
+public interface PauseCondition {
+
+    /**
+     * Short name shown in /chunkypause, e.g. "backup"
+     */
+    String getName();
+
+    /**
+     * Current severity, from 0.0 (no load) to 1.0 (generation should pause).
+     * Called every cycle, so it must be cheap and must not block; return a value tracked elsewhere.
+     */
+    double getSeverity();
+}
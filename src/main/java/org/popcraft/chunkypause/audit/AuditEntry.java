@@ -0,0 +1,162 @@
+package org.popcraft.chunkypause.audit;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One recorded decision and the inputs it was made with, stored as a single JSON line
+ */
+public class AuditEntry {
+
+    // Messages are shown to people as-is, so keep characters like < and ' readable in the file
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    private final long timestamp;
+    private final String action;
+    private final String world;
+    private final String reason;
+    private final int tasks;
+    private final int players;
+    private final double heap;
+    private final double mspt;
+    private final List<String> reasons;
+    private final String message;
+
+    /**
+     * @param world the world the decision applies to, or null for every world
+     * @param heap live set as a share of max heap, 0.0 - 1.0
+     * @param mspt p95 tick time, or negative if not sampled
+     * @param reasons world-wide reasons in effect afterwards, as config keys
+     */
+    public AuditEntry(long timestamp, String action, String world, String reason, int tasks, int players,
+                      double heap, double mspt, List<String> reasons, String message) {
+        this.timestamp = timestamp;
+        this.action = action;
+        this.world = world;
+        this.reason = reason;
+        this.tasks = tasks;
+        this.players = players;
+        this.heap = heap;
+        this.mspt = mspt;
+        this.reasons = reasons;
+        this.message = message;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * What was decided, e.g. "pause", "resume" or "force-pause"
+     */
+    public String getAction() {
+        return action;
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Number of Chunky tasks paused or resumed as a result
+     */
+    public int getTasks() {
+        return tasks;
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    public double getHeap() {
+        return heap;
+    }
+
+    public double getMspt() {
+        return mspt;
+    }
+
+    public List<String> getReasons() {
+        return reasons;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("time", timestamp);
+        json.addProperty("action", action);
+        json.addProperty("world", world);
+        json.addProperty("reason", reason);
+        json.addProperty("tasks", tasks);
+        json.addProperty("players", players);
+        json.addProperty("heap", Math.round(heap * 1000) / 1000.0);
+        if (mspt >= 0) {
+            json.addProperty("mspt", Math.round(mspt * 10) / 10.0);
+        }
+        JsonArray reasonArray = new JsonArray(reasons.size());
+        for (String key : reasons) {
+            reasonArray.add(key);
+        }
+        json.add("reasons", reasonArray);
+        json.addProperty("message", message);
+        // Null members are left out; parse treats a missing member as null
+        return GSON.toJson(json);
+    }
+
+    /**
+     * Read back a line written by {@link #toJson()}
+     * @return the entry, or null if the line is not one
+     */
+    public static AuditEntry parse(String line) {
+        try {
+            JsonElement element = JsonParser.parseString(line);
+            if (!element.isJsonObject()) {
+                return null;
+            }
+            JsonObject json = element.getAsJsonObject();
+            String action = getString(json, "action");
+            if (action == null) {
+                return null;
+            }
+
+            List<String> reasons = new ArrayList<>();
+            JsonElement reasonArray = json.get("reasons");
+            if (reasonArray != null && reasonArray.isJsonArray()) {
+                for (JsonElement key : reasonArray.getAsJsonArray()) {
+                    reasons.add(key.getAsString());
+                }
+            }
+            return new AuditEntry(getNumber(json, "time", 0).longValue(), action, getString(json, "world"), 
+                getString(json, "reason"), getNumber(json, "tasks", 0).intValue(), getNumber(json, "players", 0).intValue(), 
+                getNumber(json, "heap", 0).doubleValue(), getNumber(json, "mspt", -1).doubleValue(), reasons, 
+                getString(json, "message"));
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String getString(JsonObject json, String key) {
+        JsonElement value = json.get(key);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
+    private static Number getNumber(JsonObject json, String key, Number fallback) {
+        JsonElement value = json.get(key);
+        return value != null && value.isJsonPrimitive() ? value.getAsNumber() : fallback;
+    }
+}
@@ -0,0 +1,224 @@
+package org.popcraft.chunkypause.audit;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Writes decisions as JSON lines from a background thread, in batches, rotating by size.
+ * Recording only enqueues, and drops the entry if the writer has fallen too far behind, so the
+ * main thread never waits on the disk. The newest entries are also kept in memory for replay,
+ * seeded from the current file on start so history survives restarts.
+ */
+public class AuditLog {
+
+    private static final int QUEUE_SIZE = 1024;
+    private static final int BATCH_SIZE = 128;
+    private static final int HISTORY_SIZE = 500;
+    private static final long POLL_MS = 500;
+
+    private final JavaPlugin plugin;
+    private final Path file;
+    private final long maxBytes;
+    private final int maxFiles;
+    private final BlockingQueue<AuditEntry> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final Deque<AuditEntry> history = new ArrayDeque<>(HISTORY_SIZE);
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = false;
+    private Thread writer;
+
+    /**
+     * @param file the current log; rotated files get a number before the extension, e.g. audit.1.jsonl
+     * @param maxFiles rotated files to keep besides the current one
+     */
+    public AuditLog(JavaPlugin plugin, Path file, long maxBytes, int maxFiles) {
+        this.plugin = plugin;
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "ChunkyPause-Audit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Write what is queued and stop the writer
+     */
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Queue an entry for writing; safe to call from any thread and never blocks
+     */
+    public void record(AuditEntry entry) {
+        synchronized (history) {
+            if (history.size() == HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            history.addLast(entry);
+        }
+        if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Up to the newest count entries, oldest first
+     */
+    public List<AuditEntry> getRecent(int count) {
+        synchronized (history) {
+            List<AuditEntry> recent = new ArrayList<>(history);
+            return recent.subList(Math.max(0, recent.size() - count), recent.size());
+        }
+    }
+
+    /**
+     * Entries dropped because the writer could not keep up
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getMaxFiles() {
+        return maxFiles;
+    }
+
+    private void run() {
+        loadHistory();
+        List<AuditEntry> batch = new ArrayList<>(BATCH_SIZE);
+        BufferedWriter out = null;
+        try {
+            Files.createDirectories(file.getParent());
+            long size = Files.exists(file) ? Files.size(file) : 0;
+            out = open();
+            while (running || !queue.isEmpty()) {
+                AuditEntry first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (AuditEntry entry : batch) {
+                    String line = entry.toJson();
+                    int length = line.getBytes(StandardCharsets.UTF_8).length + 1;
+                    if (size > 0 && size + length > maxBytes) {
+                        out.close();
+                        rotate();
+                        out = open();
+                        size = 0;
+                    }
+                    out.write(line);
+                    out.write('\n');
+                    size += length;
+                }
+                // One flush per batch rather than per entry
+                out.flush();
+                batch.clear();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Audit log writer stopped", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    // Nothing left to do
+                }
+            }
+        }
+    }
+
+    private BufferedWriter open() throws IOException {
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private Path rotated(int index) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String rotatedName = dot > 0 ? name.substring(0, dot) + "." + index + name.substring(dot) : name + "." + index;
+        return file.resolveSibling(rotatedName);
+    }
+
+    private void rotate() throws IOException {
+        if (maxFiles <= 0) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        Files.deleteIfExists(rotated(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Put the newest entries of the current file ahead of anything recorded since start
+     */
+    private void loadHistory() {
+        if (!Files.isReadable(file)) {
+            return;
+        }
+        Deque<String> lines = new ArrayDeque<>(HISTORY_SIZE);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (lines.size() == HISTORY_SIZE) {
+                    lines.removeFirst();
+                }
+                lines.addLast(line);
+            }
+        } catch (IOException e) {
+            return;
+        }
+
+        synchronized (history) {
+            while (!lines.isEmpty() && history.size() < HISTORY_SIZE) {
+                AuditEntry entry = AuditEntry.parse(lines.removeLast());
+                if (entry != null) {
+                    history.addFirst(entry);
+                }
+            }
+        }
+    }
+}
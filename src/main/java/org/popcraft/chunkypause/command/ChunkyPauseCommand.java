@@ -1,17 +1,48 @@
 package org.popcraft.chunkypause.command;
 
 import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.jetbrains.annotations.NotNull;
 import org.popcraft.chunky.api.ChunkyAPI;
+import org.popcraft.chunky.api.event.task.GenerationProgressEvent;
 import org.popcraft.chunkypause.ChunkyPause;
-import org.popcraft.chunkypause.memory.MemoryInfo;
+import org.popcraft.chunkypause.audit.AuditEntry;
+import org.popcraft.chunkypause.audit.AuditLog;
+import org.popcraft.chunkypause.cpu.CpuCategory;
+import org.popcraft.chunkypause.cpu.CpuSampler;
+import org.popcraft.chunkypause.disk.DiskIoMonitor;
+import org.popcraft.chunkypause.memory.CgroupMemoryReader;
+import org.popcraft.chunkypause.memory.ExhaustionPredictor;
+import org.popcraft.chunkypause.memory.GcCostStats;
+import org.popcraft.chunkypause.memory.GcCostTracker;
+import org.popcraft.chunkypause.memory.MemoryHistory;
 import org.popcraft.chunkypause.memory.MemoryManager;
+import org.popcraft.chunkypause.memory.MemorySnapshot;
+import org.popcraft.chunkypause.memory.NativeMemoryMonitor;
+import org.popcraft.chunkypause.memory.NativeMemorySource;
+import org.popcraft.chunkypause.metrics.MetricsExporter;
+import org.popcraft.chunkypause.metrics.ThroughputTracker;
+import org.popcraft.chunkypause.metrics.WorldThroughput;
+import org.popcraft.chunkypause.pause.PauseConditionMonitor;
+import org.popcraft.chunkypause.pause.PauseReason;
+import org.popcraft.chunkypause.pause.PauseStateMachine;
+import org.popcraft.chunkypause.pause.PauseTransition;
+import org.popcraft.chunkypause.pause.PolicyEngine;
+import org.popcraft.chunkypause.pause.WorldPauseState;
+import org.popcraft.chunkypause.player.PlayerIndex;
+import org.popcraft.chunkypause.task.TaskRegistry;
+import org.popcraft.chunkypause.throttle.DutyCycleScheduler;
+import org.popcraft.chunkypause.tick.TickSampler;
+import org.popcraft.chunkypause.util.Histogram;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
 
 import static org.popcraft.chunkypause.util.ColorUtil.*;
 
@@ -46,9 +77,20 @@ public class ChunkyPauseCommand implements CommandExecutor, TabCompleter {
             case "gc":
                 return handleGC(sender);
             case "forcepause":
-                return handleForcePause(sender);
+                return args.length > 1 ? handleWorldForcePause(sender, args[1]) : handleForcePause(sender);
+            case "worlds":
+                return handleWorlds(sender);
+            case "gcstats":
+                return handleGcStats(sender);
+            case "trend":
+                return handleTrend(sender, args.length > 1 ? args[1] : "10");
             case "togglememory":
                 return handleToggleMemory(sender);
+            case "throughput":
+                return args.length > 1 && args[1].equalsIgnoreCase("export") 
+                    ? handleThroughputExport(sender) : handleThroughput(sender);
+            case "history":
+                return handleHistory(sender, args.length > 1 ? args[1] : "10");
             default:
                 return handleSetMaxPlayers(sender, args[0]);
         }
@@ -57,8 +99,9 @@ public class ChunkyPauseCommand implements CommandExecutor, TabCompleter {
     /**
      * Display plugin status
      */
-    private void displayStatus(CommandSender sender) {
-        MemoryInfo memInfo = memoryManager.getMemoryInfo();
+    void displayStatus(CommandSender sender) {
+        // The same post-GC reading the memory checks decide on
+        MemorySnapshot memInfo = plugin.getLiveSet();
         int currentPlayers = Bukkit.getOnlinePlayers().size();
         
         sender.sendMessage(colorize("&6═══════════════════════════════════"));
@@ -67,14 +110,105 @@ public class ChunkyPauseCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(colorize("&7Max players: &e" + plugin.getMaxPlayers()));
         sender.sendMessage(colorize("&7Current players: &e" + currentPlayers + 
             (currentPlayers > plugin.getMaxPlayers() ? " &c(OVER LIMIT)" : " &a(OK)")));
+        PlayerIndex playerIndex = plugin.getPlayerIndex();
+        if (playerIndex != null) {
+            // Per-world counts replace the server-wide one
+            StringJoiner line = new StringJoiner("&7, ");
+            for (WorldPauseState state : plugin.getPauseState().getWorlds()) {
+                addProximity(line, playerIndex, state.getWorld());
+            }
+            for (String world : plugin.getTaskRegistry().getRunningWorlds()) {
+                if (plugin.getPauseState().getWorld(world) == null) {
+                    addProximity(line, playerIndex, world);
+                }
+            }
+            sender.sendMessage(colorize("&7Players near generation (" + plugin.getPlayerProximityRadius() + " chunks): " + 
+                (line.length() > 0 ? line.toString() : "&7none")));
+        }
         sender.sendMessage("");
         sender.sendMessage(colorize("&7Memory usage: &e" + String.format("%.1f%%", memInfo.getUsagePercent() * 100)));
         sender.sendMessage(colorize("&7Memory: &e" + memInfo.getUsedMB() + "MB &7/ &e" + memInfo.getMaxMB() + "MB"));
         sender.sendMessage(colorize("&7Allocated: &e" + memInfo.getAllocatedMB() + "MB"));
+        
+        NativeMemoryMonitor nativeMemory = plugin.getNativeMemoryMonitor();
+        if (nativeMemory != null) {
+            StringJoiner line = new StringJoiner("&7, ");
+            for (NativeMemorySource source : NativeMemorySource.values()) {
+                if (nativeMemory.isAvailable(source)) {
+                    long usedMB = nativeMemory.getUsage(source) / (1024 * 1024);
+                    long thresholdMB = plugin.getNativeThresholdMB(source);
+                    line.add("&7" + source.getDisplayName() + " " + (thresholdMB > 0 && usedMB > thresholdMB ? "&c" : "&e") + usedMB + "MB");
+                }
+            }
+            if (line.length() > 0) {
+                sender.sendMessage(colorize("&7Native: " + line));
+            }
+            
+            CgroupMemoryReader cgroup = nativeMemory.getCgroup();
+            if (cgroup != null && cgroup.hasLimit()) {
+                long mb = 1024 * 1024;
+                sender.sendMessage(colorize("&7Container: &e" + cgroup.getWorkingSetBytes() / mb + "MB &7/ &e" + 
+                    cgroup.getLimitBytes() / mb + "MB &7(" + String.format("%.1f%%", cgroup.getWorkingSetPercent() * 100) + 
+                    ", headroom &e" + cgroup.getHeadroomBytes() / mb + "MB&7, page cache &e" + cgroup.getPageCacheBytes() / mb + 
+                    "MB&7, cgroup v" + cgroup.getVersion() + ")"));
+            }
+        }
+        
+        CpuSampler cpu = plugin.getCpuSampler();
+        if (cpu != null) {
+            StringJoiner line = new StringJoiner("&7, ");
+            for (CpuCategory category : CpuCategory.values()) {
+                line.add("&7" + category.getDisplayName() + " &e" + String.format("%.2f", cpu.getUsage(category)));
+            }
+            sender.sendMessage(colorize("&7CPU: &e" + String.format("%.0f%%", cpu.getProcessLoad() * 100) + " &7process, &e" + 
+                String.format("%.0f%%", cpu.getSystemLoad() * 100) + " &7machine"));
+            sender.sendMessage(colorize("&7  Cores: " + line + 
+                (cpu.getMainStarvation() > 0 ? String.format(" &7(main thread starved &c%.0f%%&7)", cpu.getMainStarvation() * 100) : "")));
+        }
+        
+        DiskIoMonitor diskIo = plugin.getDiskIoMonitor();
+        if (diskIo != null) {
+            double mb = 1024 * 1024;
+            StringBuilder line = new StringBuilder("&7Disk: &e" + String.format("%.1fMB/s", diskIo.getGenerationWriteRate() / mb) + 
+                " &7by generation");
+            if (diskIo.getProcessWriteRate() >= 0) {
+                line.append("&7, &e").append(String.format("%.1fMB/s", diskIo.getProcessWriteRate() / mb)).append(" &7by server");
+            }
+            if (diskIo.hasDevice()) {
+                line.append("&7, ").append(diskIo.getDeviceName()).append(" &e")
+                    .append(String.format("%.1fMB/s, %.1fms&7/write, queue &e%.1f", 
+                        diskIo.getDeviceWriteRate() / mb, diskIo.getWriteLatencyMs(), diskIo.getQueueDepth()));
+            }
+            sender.sendMessage(colorize(line.toString()));
+        }
+        
+        MemoryHistory history = plugin.getMemoryHistory();
+        if (history != null && history.size() > 0) {
+            sender.sendMessage(colorize("&7Live set (10m): &e" + history.sparkline(TimeUnit.MINUTES.toNanos(10), 30)));
+        }
+        
+        TickSampler tickSampler = plugin.getTickSampler();
+        if (tickSampler != null) {
+            double p95 = tickSampler.getPercentileMspt(0.95);
+            sender.sendMessage(colorize("&7Tick time: &e" + String.format("%.1fms avg, %.1fms p95", 
+                tickSampler.getAverageMspt(), p95) + 
+                (p95 > plugin.getMsptHighWatermark() ? " &c(HIGH)" : " &a(OK)")));
+        }
+        
+        DutyCycleScheduler dutyCycle = plugin.getDutyCycle();
+        if (dutyCycle != null) {
+            sender.sendMessage(colorize("&7Duty cycle: &e" + String.format("%.0f%%", dutyCycle.getDutyRatio() * 100) + 
+                " &7of " + (dutyCycle.getPeriodTicks() / 20.0) + "s &7(" + dutyCycle.getPausedWorldCount() + " world(s) in off window)"));
+        }
         sender.sendMessage("");
         sender.sendMessage(colorize("&7JVM: &e" + plugin.getJvmName()));
         sender.sendMessage(colorize("&7Version: &e" + plugin.getJvmVersion()));
         sender.sendMessage(colorize("&7GC Type: &e" + plugin.getGcType()));
+        sender.sendMessage(colorize("&7GC actions: &e" + memoryManager.describeActions()));
+        if (plugin.getCleanupScheduler() != null) {
+            sender.sendMessage(colorize("&7GC cooldown: &e" + plugin.getCleanupScheduler().getCooldownMs() / 1000 + "s &7(" + 
+                plugin.getCleanupScheduler().getPendingRequests() + " request(s) pending)"));
+        }
         
         if (plugin.isFixedHeapSize()) {
             sender.sendMessage(colorize("&7Heap: &eFixed (-Xmx ≈ -Xms)"));
@@ -85,7 +219,69 @@ public class ChunkyPauseCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("");
         sender.sendMessage(colorize("&7Paused by memory: &e" + plugin.isPausedByMemory()));
         sender.sendMessage(colorize("&7Paused by players: &e" + plugin.isPausedByPlayers()));
+        sender.sendMessage(colorize("&7Paused by tick time: &e" + plugin.isPausedByTickTime()));
+        sender.sendMessage(colorize("&7Paused by native memory: &e" + plugin.isPausedByNativeMemory()));
+        sender.sendMessage(colorize("&7Paused by container memory: &e" + plugin.isPausedByContainerMemory()));
+        sender.sendMessage(colorize("&7Paused by disk I/O: &e" + plugin.isPausedByDiskIo()));
+        sender.sendMessage(colorize("&7Paused by CPU starvation: &e" + plugin.isPausedByCpu()));
+        
+        PauseConditionMonitor pauseConditions = plugin.getPauseConditions();
+        if (pauseConditions != null && !pauseConditions.getConditions().isEmpty()) {
+            PauseConditionMonitor.ConditionState top = pauseConditions.getTop();
+            sender.sendMessage(colorize("&7Paused by external condition: &e" + plugin.isPausedByExternal() + 
+                (plugin.isPausedByExternal() && top != null ? " &7(" + top + ")" : "")));
+            StringJoiner line = new StringJoiner("&7, ");
+            for (PauseConditionMonitor.ConditionState state : pauseConditions.getConditions()) {
+                line.add("&7" + state + " " + (state.isFailed() ? "&cfailed" : 
+                    (state == top && state.getSeverity() > 0 ? "&c" : "&e") + String.format("%.2f", state.getSeverity())));
+            }
+            sender.sendMessage(colorize("&7External conditions: " + line));
+        }
         sender.sendMessage(colorize("&7Force paused: &e" + plugin.isForcePaused()));
+        
+        PolicyEngine policyEngine = plugin.getPolicyEngine();
+        if (policyEngine != null) {
+            StringJoiner suppressed = new StringJoiner("&7, ");
+            for (PauseReason reason : PauseReason.values()) {
+                long count = policyEngine.getSuppressed(reason);
+                if (count > 0 || policyEngine.isPending(reason)) {
+                    suppressed.add("&7" + reason.getDisplayName() + " &e" + count + 
+                        (policyEngine.isPending(reason) ? " &6(change pending)" : ""));
+                }
+            }
+            sender.sendMessage(colorize("&7Suppressed transitions: &e" + policyEngine.getSuppressedTotal() + 
+                (suppressed.length() > 0 ? " &7(" + suppressed + "&7)" : "")));
+        }
+        
+        TaskRegistry taskRegistry = plugin.getTaskRegistry();
+        ThroughputTracker throughputTracker = plugin.getThroughputTracker();
+        if (taskRegistry != null) {
+            sender.sendMessage(colorize("&7Running Chunky tasks: &e" + taskRegistry.getRunningCount()));
+            for (String world : taskRegistry.getRunningWorlds()) {
+                GenerationProgressEvent progress = taskRegistry.getProgress(world);
+                if (progress != null) {
+                    WorldThroughput throughput = throughputTracker != null ? throughputTracker.getWorld(world) : null;
+                    sender.sendMessage(colorize("&7  " + world + ": &e" + String.format("%.1f%%", progress.progress()) + 
+                        " &7(" + progress.chunks() + " chunks" + 
+                        (throughput != null ? ", &e" + String.format("%.1f", throughput.getChunksPerSecond(WorldThroughput.RATE_WINDOW_MS)) + 
+                            " &7chunks/s, ETA &e" + formatEta(throughput.getEtaSeconds(WorldThroughput.ETA_WINDOW_MS)) + "&7" : "") + ")"));
+                }
+            }
+        }
+        
+        PauseStateMachine pauseState = plugin.getPauseState();
+        if (pauseState != null) {
+            for (WorldPauseState state : pauseState.getWorlds()) {
+                if (state.getReasons() != 0 || state.isPaused()) {
+                    sender.sendMessage(colorize("&7  " + state.getWorld() + ": " + 
+                        (state.isPaused() ? "&cPAUSED" : "&eidle") + " &7(" + PauseReason.describe(state.getReasons()) + ")"));
+                }
+            }
+        }
+        MetricsExporter metrics = plugin.getMetricsExporter();
+        if (metrics != null) {
+            sender.sendMessage(colorize("&7Metrics: &ehttp://" + metrics.getHost() + ":" + metrics.getPort() + "/metrics"));
+        }
         sender.sendMessage(colorize("&7Clean on join: &e" + plugin.isCleanMemoryOnJoin()));
         sender.sendMessage(colorize("&7Memory monitoring: &e" + 
             (plugin.isMemoryMonitoringEnabled() ? "&aENABLED" : "&cDISABLED")));
@@ -94,7 +290,12 @@ public class ChunkyPauseCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(colorize("&e  /chunkypause <number> &7- Set max players"));
         sender.sendMessage(colorize("&e  /chunkypause reload &7- Reload config"));
         sender.sendMessage(colorize("&e  /chunkypause gc &7- Force GC"));
-        sender.sendMessage(colorize("&e  /chunkypause forcepause &7- Toggle force pause"));
+        sender.sendMessage(colorize("&e  /chunkypause forcepause [world] &7- Toggle force pause"));
+        sender.sendMessage(colorize("&e  /chunkypause worlds &7- Show per-world pause state"));
+        sender.sendMessage(colorize("&e  /chunkypause trend [minutes] &7- Show heap trend"));
+        sender.sendMessage(colorize("&e  /chunkypause gcstats &7- Show what cleanups cost"));
+        sender.sendMessage(colorize("&e  /chunkypause throughput [export] &7- Show generation throughput"));
+        sender.sendMessage(colorize("&e  /chunkypause history [count] &7- Replay recent pause decisions"));
         sender.sendMessage(colorize("&e  /chunkypause togglememory &7- Toggle memory monitoring"));
     }
     
@@ -114,8 +315,7 @@ public class ChunkyPauseCommand implements CommandExecutor, TabCompleter {
      */
     private boolean handleGC(CommandSender sender) {
         sender.sendMessage(colorize("&6Forcing garbage collection..."));
-        plugin.resetGCCooldown();
-        memoryManager.performGC("manual command");
+        plugin.getCleanupScheduler().runNow("manual command");
         return true;
     }
     
@@ -124,58 +324,296 @@ public class ChunkyPauseCommand implements CommandExecutor, TabCompleter {
      */
     private boolean handleForcePause(CommandSender sender) {
         boolean newState = !plugin.isForcePaused();
-        plugin.setForcePaused(newState);
-        
-        plugin.getConfig().set("force-paused", newState);
-        plugin.saveConfig();
         
         if (newState) {
             sender.sendMessage(colorize("&6Force pausing Chunky generation..."));
-            Bukkit.getServer().getWorlds().forEach(world -> {
-                try {
-                    chunky.pauseTask(world.getName());
-                } catch (Exception e) {
-                    // Task might not be running
-                }
-            });
+            plugin.setForcePaused(true);
             sender.sendMessage(colorize("&aChunky is now force paused. It will not resume automatically."));
             sender.sendMessage(colorize("&7Use &e/chunkypause forcepause &7again to allow automatic resuming."));
             sender.sendMessage(colorize("&7This state will persist across server restarts."));
         } else {
+            plugin.setForcePaused(false);
             sender.sendMessage(colorize("&aForce pause disabled. Chunky can now resume automatically."));
             sender.sendMessage(colorize("&7This state has been saved to config."));
             
-            int currentPlayers = Bukkit.getOnlinePlayers().size();
-            MemoryInfo memInfo = memoryManager.getMemoryInfo();
-            
-            if (currentPlayers <= plugin.getMaxPlayers() && 
-                memInfo.getUsagePercent() < plugin.getMemoryThreshold() &&
-                !plugin.isPausedByMemory() &&
-                !plugin.isPausedByPlayers()) {
-                sender.sendMessage(colorize("&aConditions met - resuming Chunky generation..."));
-                Bukkit.getServer().getWorlds().forEach(world -> {
-                    try {
-                        chunky.continueTask(world.getName());
-                    } catch (Exception e) {
-                        // Task might not exist
-                    }
-                });
+            PauseStateMachine pauseState = plugin.getPauseState();
+            if (!pauseState.isPausedByAny()) {
+                sender.sendMessage(colorize("&aConditions met - Chunky generation resumed"));
             } else {
                 sender.sendMessage(colorize("&7Chunky will resume when conditions are met:"));
-                if (currentPlayers > plugin.getMaxPlayers()) {
+                int currentPlayers = Bukkit.getOnlinePlayers().size();
+                if (plugin.isPausedByPlayers()) {
                     sender.sendMessage(colorize("&7  - Players: &e" + currentPlayers + "/" + 
                         plugin.getMaxPlayers() + " &c(too many)"));
                 }
-                if (memInfo.getUsagePercent() >= plugin.getMemoryThreshold()) {
+                if (plugin.isPausedByMemory()) {
+                    MemorySnapshot memInfo = plugin.getLiveSet();
                     sender.sendMessage(colorize("&7  - Memory: &e" + 
                         String.format("%.1f%%", memInfo.getUsagePercent() * 100) + " &c(too high)"));
                 }
+                if (plugin.isPausedByTickTime()) {
+                    sender.sendMessage(colorize("&7  - Tick time: &c(too high)"));
+                }
+                if (plugin.isPausedByNativeMemory()) {
+                    sender.sendMessage(colorize("&7  - Native memory: &c(too high)"));
+                }
+                if (plugin.isPausedByContainerMemory()) {
+                    sender.sendMessage(colorize("&7  - Container memory: &c(near limit)"));
+                }
+                if (plugin.isPausedByDiskIo()) {
+                    sender.sendMessage(colorize("&7  - Disk I/O: &c(under pressure)"));
+                }
+                if (plugin.isPausedByCpu()) {
+                    sender.sendMessage(colorize("&7  - CPU: &c(main thread starved)"));
+                }
+                if (plugin.isPausedByExternal()) {
+                    PauseConditionMonitor.ConditionState top = plugin.getPauseConditions().getTop();
+                    sender.sendMessage(colorize("&7  - External condition: &e" + (top != null ? top.toString() : "unknown") + " &c(busy)"));
+                }
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Handle force pause for a single world
+     */
+    private boolean handleWorldForcePause(CommandSender sender, String world) {
+        if (Bukkit.getServer().getWorld(world) == null) {
+            sender.sendMessage(colorize("&cError: Unknown world " + world));
+            return false;
+        }
+        
+        if (plugin.toggleWorldForcePaused(world)) {
+            sender.sendMessage(colorize("&aWorld &e" + world + " &ais now force paused. Other worlds are unaffected."));
+        } else {
+            sender.sendMessage(colorize("&aForce pause lifted for world &e" + world));
+        }
+        sender.sendMessage(colorize("&7This state has been saved to config."));
+        return true;
+    }
+    
+    /**
+     * Handle worlds command
+     */
+    private boolean handleWorlds(CommandSender sender) {
+        PauseStateMachine pauseState = plugin.getPauseState();
+        if (pauseState == null || pauseState.getWorlds().isEmpty()) {
+            sender.sendMessage(colorize("&7No world pause state recorded yet"));
+            return true;
+        }
+        
+        for (WorldPauseState state : pauseState.getWorlds()) {
+            sender.sendMessage(colorize("&6" + state.getWorld() + ": " + 
+                (state.isPaused() ? "&cPAUSED" : "&aRUNNING") + " &7(" + PauseReason.describe(state.getReasons()) + ")"));
+            
+            List<PauseTransition> history = state.getHistory();
+            for (int i = Math.max(0, history.size() - 5); i < history.size(); i++) {
+                PauseTransition transition = history.get(i);
+                long secondsAgo = (System.currentTimeMillis() - transition.getTimestamp()) / 1000;
+                sender.sendMessage(colorize("&7  " + secondsAgo + "s ago: &e" + transition));
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Handle throughput command
+     */
+    private boolean handleThroughput(CommandSender sender) {
+        ThroughputTracker tracker = plugin.getThroughputTracker();
+        if (tracker == null || tracker.getWorlds().isEmpty()) {
+            sender.sendMessage(colorize("&7No Chunky task progress recorded yet"));
+            return true;
+        }
+        
+        for (WorldThroughput throughput : tracker.getWorlds()) {
+            long remaining = throughput.getRemainingChunks();
+            sender.sendMessage(colorize("&6" + throughput.getWorld() + ": &e" + String.format("%.1f%%", throughput.getProgress()) + 
+                " &7(" + throughput.getChunks() + " chunks" + (remaining >= 0 ? ", ~" + remaining + " left" : "") + ", " + 
+                throughput.getState().name().toLowerCase() + ")"));
+            sender.sendMessage(colorize("&7  Rate while running: &e" + 
+                String.format("%.1f", throughput.getChunksPerSecond(WorldThroughput.RATE_WINDOW_MS)) + " &7chunks/s (1m), &e" + 
+                String.format("%.1f", throughput.getChunksPerSecond(Long.MAX_VALUE)) + " &7chunks/s (history)"));
+            sender.sendMessage(colorize("&7  Time running: &e" + formatDuration(throughput.getRunningMs() / 1000) + 
+                " &7paused: &e" + formatDuration(throughput.getPausedMs() / 1000) + 
+                " &7idle: &e" + formatDuration(throughput.getIdleMs() / 1000) + 
+                " &7(running &e" + String.format("%.0f%%", throughput.getRunningShare() * 100) + " &7of recent time)"));
+            StringJoiner paused = new StringJoiner("&7, ");
+            for (PauseReason reason : PauseReason.values()) {
+                long ms = throughput.getPausedMs(reason);
+                if (ms > 0) {
+                    paused.add("&7" + reason.getDisplayName() + " &e" + formatDuration(ms / 1000));
+                }
             }
+            if (paused.length() > 0) {
+                sender.sendMessage(colorize("&7  Paused by: " + paused));
+            }
+            sender.sendMessage(colorize("&7  ETA at the current pause pattern: &e" + formatEta(throughput.getEtaSeconds(WorldThroughput.ETA_WINDOW_MS))));
+        }
+        return true;
+    }
+    
+    /**
+     * Handle throughput export command
+     */
+    private boolean handleThroughputExport(CommandSender sender) {
+        ThroughputTracker tracker = plugin.getThroughputTracker();
+        if (tracker == null) {
+            sender.sendMessage(colorize("&7No Chunky task progress recorded yet"));
+            return true;
         }
         
+        Path file = plugin.getDataFolder().toPath().resolve("throughput.csv");
+        tracker.export(file, rows -> sender.sendMessage(colorize(rows >= 0 
+            ? "&aExported " + rows + " sample(s) to &e" + file 
+            : "&cExport failed, see the server log")));
         return true;
     }
     
+    /**
+     * Handle history command
+     */
+    private boolean handleHistory(CommandSender sender, String arg) {
+        int count;
+        try {
+            count = Integer.parseInt(arg);
+        } catch (NumberFormatException e) {
+            sender.sendMessage(colorize("&cError: Please provide a number of entries"));
+            return false;
+        }
+        if (count <= 0) {
+            sender.sendMessage(colorize("&cError: Count must be greater than 0"));
+            return false;
+        }
+        
+        AuditLog auditLog = plugin.getAuditLog();
+        if (auditLog == null) {
+            sender.sendMessage(colorize("&7The audit log is disabled (audit-log-enabled in config)"));
+            return true;
+        }
+        List<AuditEntry> entries = auditLog.getRecent(count);
+        if (entries.isEmpty()) {
+            sender.sendMessage(colorize("&7No pause decisions recorded yet"));
+            return true;
+        }
+        
+        sender.sendMessage(colorize("&6Last " + entries.size() + " pause decision(s):"));
+        long now = System.currentTimeMillis();
+        for (AuditEntry entry : entries) {
+            sender.sendMessage(colorize("&7" + formatDuration(Math.max(0, now - entry.getTimestamp()) / 1000) + " ago: " + 
+                (entry.getAction().contains("pause") ? "&c" : "&a") + entry.getAction() + 
+                (entry.getReason() != null ? " &e" + entry.getReason() : "") + 
+                " &7in &e" + (entry.getWorld() != null ? entry.getWorld() : "all worlds") + 
+                " &7(" + entry.getTasks() + " task(s))"));
+            sender.sendMessage(colorize("&7  Players: &e" + entry.getPlayers() + 
+                " &7Heap: &e" + String.format("%.1f%%", entry.getHeap() * 100) + 
+                " &7MSPT: &e" + (entry.getMspt() >= 0 ? String.format("%.1fms", entry.getMspt()) : "n/a") + 
+                " &7Reasons: &e" + (entry.getReasons().isEmpty() ? "none" : String.join(", ", entry.getReasons()))));
+            if (entry.getMessage() != null) {
+                sender.sendMessage(colorize("&7  " + entry.getMessage()));
+            }
+        }
+        if (auditLog.getDropped() > 0) {
+            sender.sendMessage(colorize("&e" + auditLog.getDropped() + " &7entries were dropped from &e" + 
+                auditLog.getFile().getFileName() + " &7because the writer fell behind"));
+        }
+        return true;
+    }
+    
+    private static String formatEta(double seconds) {
+        return seconds < 0 ? "unknown" : formatDuration((long) seconds);
+    }
+    
+    private static String formatDuration(long seconds) {
+        if (seconds >= 3600) {
+            return seconds / 3600 + "h " + seconds % 3600 / 60 + "m";
+        }
+        if (seconds >= 60) {
+            return seconds / 60 + "m " + seconds % 60 + "s";
+        }
+        return seconds + "s";
+    }
+    
+    /**
+     * Handle trend command
+     */
+    private boolean handleTrend(CommandSender sender, String arg) {
+        int minutes;
+        try {
+            minutes = Integer.parseInt(arg);
+        } catch (NumberFormatException e) {
+            sender.sendMessage(colorize("&cError: Please provide a number of minutes"));
+            return false;
+        }
+        if (minutes <= 0) {
+            sender.sendMessage(colorize("&cError: Minutes must be greater than 0"));
+            return false;
+        }
+        
+        MemoryHistory history = plugin.getMemoryHistory();
+        long window = TimeUnit.MINUTES.toNanos(minutes);
+        if (history == null || history.getMax(window) == 0) {
+            sender.sendMessage(colorize("&7No heap samples in the last " + minutes + " minute(s)"));
+            return true;
+        }
+        
+        long mb = 1024 * 1024;
+        sender.sendMessage(colorize("&6Live set over the last " + minutes + " minute(s):"));
+        sender.sendMessage(colorize("&e" + history.sparkline(window, 40)));
+        sender.sendMessage(colorize("&7Min: &e" + history.getMin(window) / mb + "MB &7Max: &e" + history.getMax(window) / mb + 
+            "MB &7p95: &e" + history.getPercentile(window, 0.95) / mb + "MB"));
+        sender.sendMessage(colorize("&7Smoothed: &e" + String.format("%.1f%%", history.getEwmaPercent() * 100) + 
+            " &7Trend: &e" + String.format("%+.1fMB/min", history.getSlope(window) * 60 / mb)));
+        
+        ExhaustionPredictor predictor = plugin.getExhaustionPredictor();
+        sender.sendMessage(colorize("&7Allocation: &e" + String.format("%.1fMB/s", predictor.getAllocationRate() / mb) + 
+            " &7Survival: &e" + String.format("%.1f%%", predictor.getSurvivalRatio() * 100) + 
+            " &7GCs: &e" + String.format("%.1f/min", predictor.getGcRate() * 60)));
+        double seconds = predictor.getSecondsToThreshold();
+        sender.sendMessage(colorize("&7Threshold reached in: &e" + 
+            (!Double.isInfinite(seconds) ? String.format("%.0fs", seconds) 
+                : predictor.isGrowthConfirmed() ? "never (not growing)" : "never (growth not confirmed by a marking cycle)")));
+        return true;
+    }
+    
+    /**
+     * Handle gcstats command
+     */
+    private boolean handleGcStats(CommandSender sender) {
+        GcCostTracker tracker = memoryManager.getCostTracker();
+        if (tracker.getStats().isEmpty()) {
+            sender.sendMessage(colorize("&7No cleanups measured yet"));
+            return true;
+        }
+        
+        for (GcCostStats stats : tracker.getStats()) {
+            sender.sendMessage(colorize("&6" + stats.getReason() + " &7(" + stats.getRuns() + " cleanup(s))"));
+            sender.sendMessage(colorize("&7  Collector pauses: &e" + stats.getPauses().getCount() + " " + 
+                describeMillis(stats.getPauses())));
+            sender.sendMessage(colorize("&7  Stop-the-world per cleanup: " + describeMillis(stats.getStopTheWorld())));
+            sender.sendMessage(colorize("&7  Tick overrun per cleanup: " + describeMillis(stats.getTickOverrun())));
+            sender.sendMessage(colorize("&7  Reclaimed per cleanup: &e" + String.format("%.0fMB", stats.getReclaimed().getMean()) + 
+                " &7avg, &e" + stats.getReclaimed().getMax() + "MB &7max"));
+        }
+        
+        GcCostStats join = tracker.getStats("player join");
+        if (join != null) {
+            double overrun = join.getTickOverrun().getMean();
+            double reclaimed = join.getReclaimed().getMean();
+            sender.sendMessage(colorize("&7Join cleanup: &e" + (overrun > 0 
+                ? String.format("%.0fMB reclaimed per 100ms of tick overrun", reclaimed / overrun * 100) 
+                : String.format("%.0fMB reclaimed with no measurable tick overrun", reclaimed))));
+        }
+        return true;
+    }
+    
+    private static String describeMillis(Histogram histogram) {
+        return "&7p50 &e" + histogram.getPercentile(0.5) + "ms &7p95 &e" + histogram.getPercentile(0.95) + 
+            "ms &7max &e" + histogram.getMax() + "ms";
+    }
+    
     /**
      * Handle toggle memory monitoring command
      */
@@ -207,6 +645,14 @@ public class ChunkyPauseCommand implements CommandExecutor, TabCompleter {
         return true;
     }
     
+    private void addProximity(StringJoiner line, PlayerIndex playerIndex, String world) {
+        int relevant = plugin.getRelevantPlayers(world);
+        WorldPauseState state = plugin.getPauseState().getWorld(world);
+        boolean paused = state != null && state.hasLocalReason(PauseReason.PLAYERS);
+        line.add("&7" + world + " " + (paused ? "&c" : "&e") + relevant + 
+            " &7(" + playerIndex.getExploring(world) + " exploring)");
+    }
+    
     /**
      * Handle set max players command
      */
@@ -238,7 +684,13 @@ public class ChunkyPauseCommand implements CommandExecutor, TabCompleter {
     public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, 
                                      @NotNull String alias, @NotNull String[] args) {
         if (args.length == 1) {
-            return List.of("reload", "gc", "forcepause", "togglememory", "0", "1", "2", "5", "10");
+            return List.of("reload", "gc", "forcepause", "togglememory", "worlds", "trend", "gcstats", "throughput", "history", "0", "1", "2", "5", "10");
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("throughput")) {
+            return List.of("export");
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("forcepause")) {
+            return Bukkit.getServer().getWorlds().stream().map(World::getName).toList();
         }
         return List.of();
     }
@@ -0,0 +1,41 @@
+package org.popcraft.chunkypause.cpu;
+
+import java.util.Locale;
+
+/**
+ * Groups of threads CPU time is attributed to
+ */
+public enum CpuCategory {
+    MAIN("main thread"),
+    CHUNKY("Chunky"),
+    CHUNK_WORKERS("chunk workers"),
+    GC_VM("GC/VM"),
+    OTHER("other");
+
+    private final String displayName;
+
+    CpuCategory(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Classify a Java thread by name; the main thread is recognised by id instead.
+     * GC and VM work runs on native threads the thread bean cannot see.
+     */
+    static CpuCategory classify(String threadName) {
+        String name = threadName.toLowerCase(Locale.ROOT);
+        if (name.startsWith("chunky")) {
+            return CHUNKY;
+        }
+        // Vanilla/Paper world generation and loading pools that Chunky's requests run on
+        if (name.startsWith("worker-main") || name.contains("chunk system") || name.startsWith("c2me")
+                || name.contains("chunk worker") || name.startsWith("tuinity chunk")) {
+            return CHUNK_WORKERS;
+        }
+        return OTHER;
+    }
+}
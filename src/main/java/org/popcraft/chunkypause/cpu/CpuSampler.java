@@ -0,0 +1,173 @@
+package org.popcraft.chunkypause.cpu;
+
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Attributes process CPU time to the main thread, Chunky, chunk workers and the JVM itself,
+ * and estimates how much of the time the main thread spends waiting for a core.
+ * While the server keeps up, the main thread sleeps between ticks; once it falls behind it never
+ * sleeps, so any wall time it was not on a CPU was spent waiting, typically for a core on a busy host.
+ * Runs on the main thread, so the wall time between samples doubles as a tick timer.
+ */
+public class CpuSampler {
+
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final CpuCategory[] CATEGORIES = CpuCategory.values();
+
+    private final MonitorLoop loop;
+    private final long interval;
+    private final Consumer<CpuSampler> listener;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.OperatingSystemMXBean os;
+
+    private final Map<Long, CpuCategory> categories = new HashMap<>();
+    private final Map<Long, Long> lastThreadCpu = new HashMap<>();
+    private final long[] categoryCpu = new long[CATEGORIES.length];
+    private final double[] usage = new double[CATEGORIES.length];
+    private long mainThreadId;
+    private long lastSampleNanos = 0;
+    private long lastProcessCpu = 0;
+    private double processLoad = -1;
+    private double systemLoad = -1;
+    private double mainStarvation = 0;
+    private MonitorLoop.Task task;
+
+    public CpuSampler(MonitorLoop loop, long interval, Consumer<CpuSampler> listener) {
+        this.loop = loop;
+        this.interval = interval;
+        this.listener = listener;
+        java.lang.management.OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        this.os = bean instanceof com.sun.management.OperatingSystemMXBean
+            ? (com.sun.management.OperatingSystemMXBean) bean : null;
+    }
+
+    /**
+     * Check if this JVM can measure per-thread CPU time
+     */
+    public boolean isSupported() {
+        return threads.isThreadCpuTimeSupported() && os != null;
+    }
+
+    /**
+     * Start sampling; must be called on the main thread
+     */
+    public void start() {
+        mainThreadId = Thread.currentThread().threadId();
+        if (!threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        task = loop.schedule(MonitorLoop.Phase.SAMPLE, interval, this::sample);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void sample() {
+        long now = loop.getTickStartNanos();
+        long processCpu = os.getProcessCpuTime();
+        processLoad = os.getProcessCpuLoad();
+        systemLoad = os.getCpuLoad();
+
+        long[] ids = threads.getAllThreadIds();
+        resolveNewThreads(ids);
+        Arrays.fill(categoryCpu, 0);
+        long javaCpu = 0;
+        for (long id : ids) {
+            long cpu = threads.getThreadCpuTime(id);
+            if (cpu < 0) {
+                // Thread ended since the id list was taken
+                continue;
+            }
+            Long previous = lastThreadCpu.put(id, cpu);
+            long delta = previous != null ? Math.max(0, cpu - previous) : cpu;
+            categoryCpu[categories.getOrDefault(id, CpuCategory.OTHER).ordinal()] += delta;
+            javaCpu += delta;
+        }
+        if (lastThreadCpu.size() > ids.length) {
+            pruneEndedThreads(ids);
+        }
+
+        if (lastSampleNanos != 0) {
+            long wall = now - lastSampleNanos;
+            // Work on native GC and VM threads is whatever the Java threads do not account for
+            categoryCpu[CpuCategory.GC_VM.ordinal()] = Math.max(0, (processCpu - lastProcessCpu) - javaCpu);
+            for (int i = 0; i < CATEGORIES.length; i++) {
+                usage[i] = (double) categoryCpu[i] / wall;
+            }
+
+            // Lost time only counts as starvation up to the part the main thread was not on a CPU
+            long overrun = wall - interval * TICK_NANOS;
+            long offCpu = Math.max(0, wall - categoryCpu[CpuCategory.MAIN.ordinal()]);
+            mainStarvation = overrun > 0 ? (double) Math.min(overrun, offCpu) / wall : 0;
+        }
+        lastSampleNanos = now;
+        lastProcessCpu = processCpu;
+
+        listener.accept(this);
+    }
+
+    private void resolveNewThreads(long[] ids) {
+        for (long id : ids) {
+            if (categories.containsKey(id)) {
+                continue;
+            }
+            if (id == mainThreadId) {
+                categories.put(id, CpuCategory.MAIN);
+                continue;
+            }
+            ThreadInfo info = threads.getThreadInfo(id);
+            categories.put(id, info != null ? CpuCategory.classify(info.getThreadName()) : CpuCategory.OTHER);
+        }
+    }
+
+    private void pruneEndedThreads(long[] ids) {
+        Set<Long> live = new HashSet<>(ids.length * 2);
+        for (long id : ids) {
+            live.add(id);
+        }
+        lastThreadCpu.keySet().retainAll(live);
+        categories.keySet().retainAll(live);
+    }
+
+    /**
+     * Cores used by a category over the last interval, e.g. 1.5 for one and a half cores
+     */
+    public double getUsage(CpuCategory category) {
+        return usage[category.ordinal()];
+    }
+
+    /**
+     * Share of all cores this process used, or negative if unavailable
+     */
+    public double getProcessLoad() {
+        return processLoad;
+    }
+
+    /**
+     * Share of all cores used by the whole machine or container, or negative if unavailable
+     */
+    public double getSystemLoad() {
+        return systemLoad;
+    }
+
+    /**
+     * Share of the last interval the server fell behind on ticks while the main thread was off a CPU, 0.0 - 1.0
+     */
+    public double getMainStarvation() {
+        return mainStarvation;
+    }
+}
@@ -0,0 +1,150 @@
+package org.popcraft.chunkypause.disk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the kernel's cumulative I/O counters for the block device holding a directory.
+ * The device is found through the mount table, so partitions, LVM and other device-mapper
+ * volumes work; virtual filesystems such as overlay have no block device and are not supported.
+ */
+public class BlockDeviceStats {
+
+    private static final Path MOUNT_INFO = Path.of("/proc/self/mountinfo");
+    private static final Path DISK_STATS = Path.of("/proc/diskstats");
+
+    private final String deviceId;
+    private volatile String name;
+    private volatile long writesCompleted = 0;
+    private volatile long sectorsWritten = 0;
+    private volatile long writeTimeMs = 0;
+    private volatile long inFlight = 0;
+    private volatile long weightedIoMs = 0;
+
+    private BlockDeviceStats(String deviceId) {
+        this.deviceId = deviceId;
+        this.name = deviceId;
+    }
+
+    /**
+     * Find the block device a directory lives on
+     * @return stats for the device, or null if it has none or the kernel does not expose them
+     */
+    public static BlockDeviceStats detect(Path directory) {
+        try {
+            Path real = directory.toRealPath();
+            String deviceId = null;
+            int longest = -1;
+            try (BufferedReader reader = Files.newBufferedReader(MOUNT_INFO)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // Format: "36 35 98:0 /root /mnt/point rw,noatime ... - ext4 /dev/sda1 rw"
+                    String[] fields = line.split(" ", 6);
+                    if (fields.length < 6) {
+                        continue;
+                    }
+                    String mountPoint = unescape(fields[4]);
+                    if (mountPoint.length() > longest && real.startsWith(mountPoint)) {
+                        longest = mountPoint.length();
+                        deviceId = fields[2];
+                    }
+                }
+            }
+            if (deviceId == null) {
+                return null;
+            }
+            BlockDeviceStats stats = new BlockDeviceStats(deviceId);
+            return stats.read() ? stats : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Mount points escape spaces and other characters as octal, e.g. "\040"
+     */
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 3 < value.length()) {
+                builder.append((char) Integer.parseInt(value.substring(i + 1, i + 4), 8));
+                i += 3;
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Refresh the counters; safe to call off the main thread
+     * @return false if the device no longer appears in /proc/diskstats
+     */
+    public boolean read() {
+        try (BufferedReader reader = Files.newBufferedReader(DISK_STATS)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Format: "major minor name reads ... writes merged sectors ms in_flight io_ms weighted_ms ..."
+                String[] fields = line.trim().split("\\s+");
+                if (fields.length < 14 || !deviceId.equals(fields[0] + ":" + fields[1])) {
+                    continue;
+                }
+                name = fields[2];
+                writesCompleted = Long.parseLong(fields[7]);
+                sectorsWritten = Long.parseLong(fields[9]);
+                writeTimeMs = Long.parseLong(fields[10]);
+                inFlight = Long.parseLong(fields[11]);
+                weightedIoMs = Long.parseLong(fields[13]);
+                return true;
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux or not permitted
+        }
+        return false;
+    }
+
+    /**
+     * Kernel device name, e.g. "sda1" or "dm-0"
+     */
+    public String getName() {
+        return name;
+    }
+
+    public long getWritesCompleted() {
+        return writesCompleted;
+    }
+
+    /**
+     * Bytes written, from 512-byte sectors
+     */
+    public long getBytesWritten() {
+        return sectorsWritten * 512;
+    }
+
+    /**
+     * Total time writes spent queued and in service
+     */
+    public long getWriteTimeMs() {
+        return writeTimeMs;
+    }
+
+    /**
+     * Requests currently in flight
+     */
+    public long getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Time spent doing I/O weighted by the number of requests in flight; its rate is the average queue depth
+     */
+    public long getWeightedIoMs() {
+        return weightedIoMs;
+    }
+}
@@ -0,0 +1,261 @@
+package org.popcraft.chunkypause.disk;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.popcraft.chunkypause.task.TaskRegistry;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Samples disk pressure on the device holding the worlds: write latency and queue depth from
+ * /proc/diskstats, bytes this process writes from /proc/self/io, and how fast the region files of
+ * worlds being generated grow.
+ * Sampling runs off the main thread; results are handed to the listener on the main thread.
+ */
+public class DiskIoMonitor {
+
+    private static final Path PROC_IO = Path.of("/proc/self/io");
+    // Region, entity and POI files all sit one or two directories below the world folder
+    private static final int REGION_DEPTH = 3;
+
+    private final JavaPlugin plugin;
+    private final MonitorLoop loop;
+    private final TaskRegistry tasks;
+    private final long interval;
+    private final Consumer<DiskIoMonitor> listener;
+
+    private final Map<String, Path> worldFolders = new ConcurrentHashMap<>();
+    private final Map<String, Long> regionBytes = new HashMap<>();
+    private BlockDeviceStats device;
+    private boolean processIoAvailable;
+    private BukkitTask task;
+    private volatile MonitorLoop.Task dispatchTask;
+
+    // Previous counters, sampling thread only
+    private long lastSampleNanos = 0;
+    private long lastWrites = 0;
+    private long lastWriteTimeMs = 0;
+    private long lastWeightedIoMs = 0;
+    private long lastDeviceBytes = 0;
+    private long lastProcessBytes = -1;
+
+    private volatile double writeLatencyMs = 0;
+    private volatile double queueDepth = 0;
+    private volatile double deviceWriteRate = 0;
+    private volatile double processWriteRate = -1;
+    private volatile double generationWriteRate = 0;
+
+    public DiskIoMonitor(JavaPlugin plugin, MonitorLoop loop, TaskRegistry tasks, long interval, Consumer<DiskIoMonitor> listener) {
+        this.plugin = plugin;
+        this.loop = loop;
+        this.tasks = tasks;
+        this.interval = interval;
+        this.listener = listener;
+    }
+
+    /**
+     * Resolve the device and start polling
+     */
+    public void start() {
+        device = BlockDeviceStats.detect(Bukkit.getWorldContainer().toPath());
+        processIoAvailable = Files.isReadable(PROC_IO);
+        resolveWorldFolders();
+        dispatchTask = loop.schedule(MonitorLoop.Phase.SAMPLE, 0, this::dispatch);
+        task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::sample, 20L, interval);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (dispatchTask != null) {
+            dispatchTask.cancel();
+            dispatchTask = null;
+        }
+    }
+
+    /**
+     * Look up folders for worlds with a task, so generation in newly loaded worlds is measured too
+     */
+    private void resolveWorldFolders() {
+        for (String name : tasks.getRunningWorlds()) {
+            if (!worldFolders.containsKey(name)) {
+                World world = Bukkit.getWorld(name);
+                if (world != null) {
+                    worldFolders.put(name, world.getWorldFolder().toPath());
+                }
+            }
+        }
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        double seconds = (now - lastSampleNanos) / 1e9;
+        boolean first = lastSampleNanos == 0;
+        lastSampleNanos = now;
+
+        BlockDeviceStats stats = device;
+        if (stats != null && stats.read()) {
+            long writes = stats.getWritesCompleted() - lastWrites;
+            long writeTimeMs = stats.getWriteTimeMs() - lastWriteTimeMs;
+            long weightedIoMs = stats.getWeightedIoMs() - lastWeightedIoMs;
+            long bytes = stats.getBytesWritten() - lastDeviceBytes;
+            if (!first) {
+                writeLatencyMs = writes > 0 ? (double) writeTimeMs / writes : 0;
+                queueDepth = weightedIoMs / (seconds * 1000);
+                deviceWriteRate = bytes / seconds;
+            }
+            lastWrites = stats.getWritesCompleted();
+            lastWriteTimeMs = stats.getWriteTimeMs();
+            lastWeightedIoMs = stats.getWeightedIoMs();
+            lastDeviceBytes = stats.getBytesWritten();
+        }
+
+        if (processIoAvailable) {
+            long bytes = readProcessWriteBytes();
+            processIoAvailable = bytes >= 0;
+            if (bytes >= 0 && lastProcessBytes >= 0) {
+                processWriteRate = (bytes - lastProcessBytes) / seconds;
+            }
+            lastProcessBytes = bytes;
+        }
+
+        long grown = 0;
+        for (String world : tasks.getRunningWorlds()) {
+            Path folder = worldFolders.get(world);
+            if (folder == null) {
+                continue;
+            }
+            long size = sizeOfRegionFiles(folder);
+            Long previous = regionBytes.put(world, size);
+            if (previous != null) {
+                // Rewrites in place and deleted files do not count as negative generation
+                grown += Math.max(0, size - previous);
+            }
+        }
+        regionBytes.keySet().retainAll(tasks.getRunningWorlds());
+        if (!first) {
+            generationWriteRate = grown / seconds;
+        }
+
+        // Samples finished before the main thread picks them up collapse into one dispatch
+        MonitorLoop.Task dispatcher = dispatchTask;
+        if (dispatcher != null) {
+            dispatcher.wake();
+        }
+    }
+
+    private void dispatch() {
+        resolveWorldFolders();
+        listener.accept(this);
+    }
+
+    private static long sizeOfRegionFiles(Path folder) {
+        long[] total = {0};
+        try {
+            Files.walkFileTree(folder, EnumSet.noneOf(FileVisitOption.class), REGION_DEPTH,
+                new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                        if (attributes.isRegularFile() && file.getFileName().toString().endsWith(".mca")) {
+                            total[0] += attributes.size();
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        // Region files can be replaced while we walk
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+        } catch (IOException e) {
+            // Folder removed, keep what was counted
+        }
+        return total[0];
+    }
+
+    /**
+     * Bytes this process caused to be written to storage, from /proc/self/io, or -1 if unavailable
+     */
+    private static long readProcessWriteBytes() {
+        try (BufferedReader reader = Files.newBufferedReader(PROC_IO)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Format: "write_bytes: 123456"
+                if (line.startsWith("write_bytes:")) {
+                    return Long.parseLong(line.substring(12).trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux or not permitted
+        }
+        return -1;
+    }
+
+    /**
+     * Check if device latency and queue depth are available
+     */
+    public boolean hasDevice() {
+        return device != null;
+    }
+
+    /**
+     * Kernel name of the device holding the worlds, or null if unknown
+     */
+    public String getDeviceName() {
+        BlockDeviceStats stats = device;
+        return stats != null ? stats.getName() : null;
+    }
+
+    /**
+     * Average time per completed write over the last interval, including time queued
+     */
+    public double getWriteLatencyMs() {
+        return writeLatencyMs;
+    }
+
+    /**
+     * Average number of requests in flight on the device over the last interval
+     */
+    public double getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Bytes per second written to the device by every process
+     */
+    public double getDeviceWriteRate() {
+        return deviceWriteRate;
+    }
+
+    /**
+     * Bytes per second this server process wrote to storage, or -1 if unavailable
+     */
+    public double getProcessWriteRate() {
+        return processWriteRate;
+    }
+
+    /**
+     * Bytes per second the region files of worlds being generated grew by
+     */
+    public double getGenerationWriteRate() {
+        return generationWriteRate;
+    }
+}
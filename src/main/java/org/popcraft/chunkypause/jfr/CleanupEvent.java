@@ -0,0 +1,72 @@
+package org.popcraft.chunkypause.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.popcraft.chunkypause.memory.MemoryInfo;
+
+/**
+ * A cleanup the plugin triggered, spanning its GC actions on the cleanup thread.
+ * Collections recorded by the JVM inside this span were requested by ChunkyPause.
+ */
+@Name("org.popcraft.chunkypause.Cleanup")
+@Label("Memory Cleanup")
+@Category("ChunkyPause")
+@Description("GC actions triggered by ChunkyPause")
+@StackTrace(false)
+public class CleanupEvent extends Event {
+
+    private static final long MB = 1024 * 1024;
+
+    @Label("Reason")
+    String reason;
+
+    @Label("Actions")
+    String actions;
+
+    @Label("Used Before")
+    @DataAmount
+    long usedBefore;
+
+    @Label("Used After")
+    @DataAmount
+    long usedAfter;
+
+    @Label("Allocated Before")
+    @DataAmount
+    long allocatedBefore;
+
+    @Label("Allocated After")
+    @DataAmount
+    long allocatedAfter;
+
+    @Label("Stop-the-World Time")
+    @Description("Collector pauses seen during the cleanup, including unrelated ones")
+    @Timespan(Timespan.MILLISECONDS)
+    long pauseTime;
+
+    @Label("Pauses")
+    long pauses;
+
+    public void setReason(String reason, String actions) {
+        this.reason = reason;
+        this.actions = actions;
+    }
+
+    public void setBefore(MemoryInfo before) {
+        usedBefore = before.getUsedMB() * MB;
+        allocatedBefore = before.getAllocatedMB() * MB;
+    }
+
+    public void setAfter(MemoryInfo after, long pauseMs, long pauses) {
+        usedAfter = after.getUsedMB() * MB;
+        allocatedAfter = after.getAllocatedMB() * MB;
+        this.pauseTime = pauseMs;
+        this.pauses = pauses;
+    }
+}
@@ -0,0 +1,44 @@
+package org.popcraft.chunkypause.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A monitor evaluated its signal against the threshold it pauses at
+ */
+@Name("org.popcraft.chunkypause.MonitorSample")
+@Label("Monitor Sample")
+@Category("ChunkyPause")
+@Description("A pause signal and the threshold it is compared against")
+@StackTrace(false)
+public class MonitorSampleEvent extends Event {
+
+    @Label("Monitor")
+    String monitor;
+
+    @Label("Value")
+    double value;
+
+    @Label("Threshold")
+    double threshold;
+
+    @Label("Paused")
+    @Description("Whether this monitor's reason is set after the sample")
+    boolean paused;
+
+    public static void emit(String monitor, double value, double threshold, boolean paused) {
+        MonitorSampleEvent event = new MonitorSampleEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.monitor = monitor;
+        event.value = value;
+        event.threshold = threshold;
+        event.paused = paused;
+        event.commit();
+    }
+}
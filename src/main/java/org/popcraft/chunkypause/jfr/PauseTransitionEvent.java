@@ -0,0 +1,59 @@
+package org.popcraft.chunkypause.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.popcraft.chunkypause.pause.PauseReason;
+
+/**
+ * A pause reason was set on or cleared from a world, and whether its Chunky task was paused or resumed as a result
+ */
+@Name("org.popcraft.chunkypause.PauseTransition")
+@Label("Pause Transition")
+@Category("ChunkyPause")
+@Description("A pause reason was set on or cleared from a world")
+@StackTrace(false)
+public class PauseTransitionEvent extends Event {
+
+    @Label("World")
+    String world;
+
+    @Label("Reason")
+    String reason;
+
+    @Label("Set")
+    @Description("True if the reason was set, false if it was cleared")
+    boolean set;
+
+    @Label("Reasons")
+    @Description("Every reason in effect for the world afterwards")
+    String reasons;
+
+    @Label("Task Paused")
+    @Description("Whether the world's task is held paused afterwards")
+    boolean taskPaused;
+
+    @Label("Task Changed")
+    @Description("Whether the task was paused or resumed by this transition")
+    boolean taskChanged;
+
+    /**
+     * @param reasons reasons in effect afterwards, as a bitset
+     */
+    public static void emit(String world, PauseReason reason, boolean set, int reasons, boolean taskPaused, boolean taskChanged) {
+        PauseTransitionEvent event = new PauseTransitionEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.world = world;
+        event.reason = reason.getDisplayName();
+        event.set = set;
+        event.reasons = PauseReason.describe(reasons);
+        event.taskPaused = taskPaused;
+        event.taskChanged = taskChanged;
+        event.commit();
+    }
+}
@@ -0,0 +1,178 @@
+package org.popcraft.chunkypause.memory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads container memory accounting from cgroup v1 or v2.
+ * The working set (usage minus inactive page cache) is what the kernel and
+ * Kubernetes compare against the limit before killing the container.
+ */
+public class CgroupMemoryReader {
+
+    private static final Path CGROUP_ROOT = Path.of("/sys/fs/cgroup");
+    private static final Path PROC_CGROUP = Path.of("/proc/self/cgroup");
+    // v1 reports "no limit" as a page-rounded Long.MAX_VALUE
+    private static final long V1_UNLIMITED = Long.MAX_VALUE / 2;
+
+    private final int version;
+    private final Path limitFile;
+    private final Path usageFile;
+    private final Path statFile;
+    private final String inactiveFileKey;
+    private final String pageCacheKey;
+
+    private volatile long limitBytes = -1;
+    private volatile long usageBytes = 0;
+    private volatile long pageCacheBytes = 0;
+    private volatile long inactiveFileBytes = 0;
+
+    private CgroupMemoryReader(int version, Path directory) {
+        this.version = version;
+        if (version == 2) {
+            this.limitFile = directory.resolve("memory.max");
+            this.usageFile = directory.resolve("memory.current");
+            this.inactiveFileKey = "inactive_file";
+            this.pageCacheKey = "file";
+        } else {
+            this.limitFile = directory.resolve("memory.limit_in_bytes");
+            this.usageFile = directory.resolve("memory.usage_in_bytes");
+            this.inactiveFileKey = "total_inactive_file";
+            this.pageCacheKey = "total_cache";
+        }
+        this.statFile = directory.resolve("memory.stat");
+    }
+
+    /**
+     * Find this process's memory cgroup
+     * @return a reader, or null if no cgroup memory accounting is visible
+     */
+    public static CgroupMemoryReader detect() {
+        try {
+            if (Files.exists(CGROUP_ROOT.resolve("cgroup.controllers"))) {
+                // v2: single hierarchy, line "0::/path"
+                Path directory = resolve(CGROUP_ROOT, findCgroupPath("0::"), "memory.current");
+                return directory != null ? new CgroupMemoryReader(2, directory) : null;
+            }
+            // v1: line "N:controller,...:/path" for the memory controller
+            Path directory = resolve(CGROUP_ROOT.resolve("memory"), findCgroupPath(null), "memory.usage_in_bytes");
+            return directory != null ? new CgroupMemoryReader(1, directory) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String findCgroupPath(String v2Prefix) throws IOException {
+        if (!Files.isReadable(PROC_CGROUP)) {
+            return "/";
+        }
+        try (BufferedReader reader = Files.newBufferedReader(PROC_CGROUP)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (v2Prefix != null) {
+                    if (line.startsWith(v2Prefix)) {
+                        return line.substring(v2Prefix.length());
+                    }
+                    continue;
+                }
+                String[] parts = line.split(":", 3);
+                if (parts.length == 3 && ("," + parts[1] + ",").contains(",memory,")) {
+                    return parts[2];
+                }
+            }
+        }
+        return "/";
+    }
+
+    /**
+     * The process's own cgroup directory, falling back to the mount root inside a cgroup namespace
+     */
+    private static Path resolve(Path mount, String cgroupPath, String probe) {
+        Path own = mount.resolve(cgroupPath.startsWith("/") ? cgroupPath.substring(1) : cgroupPath);
+        if (Files.isReadable(own.resolve(probe))) {
+            return own;
+        }
+        return Files.isReadable(mount.resolve(probe)) ? mount : null;
+    }
+
+    /**
+     * Refresh all values; safe to call off the main thread
+     * @return false if the files could not be read
+     */
+    public boolean read() {
+        try {
+            String limit = Files.readString(limitFile).trim();
+            long parsedLimit = limit.equals("max") ? -1 : Long.parseLong(limit);
+            limitBytes = parsedLimit >= V1_UNLIMITED ? -1 : parsedLimit;
+            usageBytes = Long.parseLong(Files.readString(usageFile).trim());
+
+            try (BufferedReader reader = Files.newBufferedReader(statFile)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int space = line.indexOf(' ');
+                    if (space < 0) {
+                        continue;
+                    }
+                    String key = line.substring(0, space);
+                    if (key.equals(inactiveFileKey)) {
+                        inactiveFileBytes = Long.parseLong(line.substring(space + 1).trim());
+                    } else if (key.equals(pageCacheKey)) {
+                        pageCacheBytes = Long.parseLong(line.substring(space + 1).trim());
+                    }
+                }
+            }
+            return true;
+        } catch (IOException | NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Container memory limit in bytes, or -1 if unlimited
+     */
+    public long getLimitBytes() {
+        return limitBytes;
+    }
+
+    public boolean hasLimit() {
+        return limitBytes > 0;
+    }
+
+    /**
+     * Total charged memory including page cache
+     */
+    public long getUsageBytes() {
+        return usageBytes;
+    }
+
+    public long getPageCacheBytes() {
+        return pageCacheBytes;
+    }
+
+    /**
+     * Usage minus reclaimable page cache
+     */
+    public long getWorkingSetBytes() {
+        return Math.max(0, usageBytes - inactiveFileBytes);
+    }
+
+    /**
+     * Working set as a fraction of the limit, or 0 if unlimited
+     */
+    public double getWorkingSetPercent() {
+        return hasLimit() ? (double) getWorkingSetBytes() / limitBytes : 0;
+    }
+
+    /**
+     * Bytes left before the limit, or -1 if unlimited
+     */
+    public long getHeadroomBytes() {
+        return hasLimit() ? Math.max(0, limitBytes - getWorkingSetBytes()) : -1;
+    }
+}
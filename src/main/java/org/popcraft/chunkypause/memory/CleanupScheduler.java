@@ -0,0 +1,180 @@
+package org.popcraft.chunkypause.memory;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.popcraft.chunkypause.util.ColorUtil.*;
+
+/**
+ * Merges cleanup requests into batches and spaces batches out by an adaptive cooldown.
+ * Requests inside the coalescing window, or while the cooldown runs, share one cleanup.
+ * The cooldown doubles after cleanups that freed little and halves after ones that freed a lot.
+ * Main thread only.
+ */
+public class CleanupScheduler {
+
+    private static final long RETRY_TICKS = 20L;
+    private static final double LOW_RECLAIM = 0.02;
+    private static final double HIGH_RECLAIM = 0.10;
+
+    private final JavaPlugin plugin;
+    private final MemoryManager memoryManager;
+
+    private long windowTicks = 100L;
+    private long minCooldownMs = 5000L;
+    private long maxCooldownMs = 120000L;
+    private long cooldownMs = 10000L;
+    private long lastRunAt = 0;
+
+    private String pendingReason;
+    private int pendingRequests = 0;
+    // One callback per reason, so a burst of identical requests reports once
+    private final Map<String, Consumer<GcResult>> pendingCallbacks = new LinkedHashMap<>();
+    private BukkitTask flushTask;
+    private long flushAt = 0;
+
+    public CleanupScheduler(JavaPlugin plugin, MemoryManager memoryManager) {
+        this.plugin = plugin;
+        this.memoryManager = memoryManager;
+    }
+
+    /**
+     * Update the window and cooldown bounds, keeping the current cooldown inside them
+     */
+    public void configure(long windowTicks, long minCooldownMs, long maxCooldownMs) {
+        this.windowTicks = Math.max(0, windowTicks);
+        this.minCooldownMs = Math.max(0, minCooldownMs);
+        this.maxCooldownMs = Math.max(this.minCooldownMs, maxCooldownMs);
+        this.cooldownMs = Math.max(this.minCooldownMs, Math.min(this.maxCooldownMs, cooldownMs));
+    }
+
+    /**
+     * Ask for a cleanup, merged with any other request inside the coalescing window
+     */
+    public void request(String reason, Consumer<GcResult> callback) {
+        enqueue(reason, windowTicks, callback);
+    }
+
+    /**
+     * Ask for a cleanup as soon as the cooldown allows
+     */
+    public void requestUrgent(String reason) {
+        enqueue(reason, 0, result -> { });
+    }
+
+    /**
+     * Run a cleanup right away, ignoring the cooldown; pending requests are folded into it
+     */
+    public void runNow(String reason) {
+        lastRunAt = 0;
+        enqueue(reason, 0, result -> { });
+    }
+
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        pendingReason = null;
+        pendingRequests = 0;
+        pendingCallbacks.clear();
+    }
+
+    private void enqueue(String reason, long delayTicks, Consumer<GcResult> callback) {
+        pendingRequests++;
+        pendingCallbacks.put(reason, callback);
+
+        long now = System.currentTimeMillis();
+        long at = Math.max(now + delayTicks * 50, lastRunAt + cooldownMs);
+        if (pendingReason == null || at < flushAt) {
+            // The request that decides when the batch runs also names it
+            pendingReason = reason;
+            schedule(at);
+        }
+    }
+
+    private void schedule(long at) {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        flushAt = at;
+        long delayTicks = Math.max(1, (at - System.currentTimeMillis() + 49) / 50);
+        flushTask = Bukkit.getScheduler().runTaskLater(plugin, this::flush, delayTicks);
+    }
+
+    private void flush() {
+        flushTask = null;
+        if (pendingReason == null) {
+            return;
+        }
+
+        String reason = pendingReason;
+        List<Consumer<GcResult>> callbacks = new ArrayList<>(pendingCallbacks.values());
+        boolean started = memoryManager.performGC(reason, result -> {
+            adapt(result);
+            for (Consumer<GcResult> callback : callbacks) {
+                callback.accept(result);
+            }
+        });
+
+        if (!started) {
+            // A cleanup is still running; keep the batch and try again shortly
+            schedule(System.currentTimeMillis() + RETRY_TICKS * 50);
+            return;
+        }
+
+        if (pendingRequests > 1) {
+            plugin.getLogger().info(info("Merged " + pendingRequests + " cleanup requests into one (" + reason + ")"));
+        }
+        lastRunAt = System.currentTimeMillis();
+        pendingReason = null;
+        pendingRequests = 0;
+        pendingCallbacks.clear();
+    }
+
+    /**
+     * Back off when cleanups stop paying for themselves, speed up while they reclaim a lot
+     */
+    private void adapt(GcResult result) {
+        long maxMB = result.getAfter().getMaxMB();
+        if (maxMB <= 0) {
+            return;
+        }
+        double reclaimed = (double) Math.max(0, result.getFreedUsedMB()) / maxMB;
+        long previous = cooldownMs;
+        if (reclaimed < LOW_RECLAIM) {
+            cooldownMs = Math.min(maxCooldownMs, cooldownMs * 2);
+        } else if (reclaimed > HIGH_RECLAIM) {
+            cooldownMs = Math.max(minCooldownMs, cooldownMs / 2);
+        }
+        if (cooldownMs != previous) {
+            plugin.getLogger().info(info("GC cooldown now " + cooldownMs / 1000 + "s (last cleanup freed " +
+                String.format("%.1f%%", reclaimed * 100) + " of max heap)"));
+        }
+    }
+
+    /**
+     * Let the next request run without waiting for the cooldown
+     */
+    public void resetCooldown() {
+        lastRunAt = 0;
+    }
+
+    public long getCooldownMs() {
+        return cooldownMs;
+    }
+
+    /**
+     * Number of requests waiting for the next cleanup
+     */
+    public int getPendingRequests() {
+        return pendingRequests;
+    }
+}
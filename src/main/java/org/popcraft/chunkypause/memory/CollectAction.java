@@ -0,0 +1,34 @@
+package org.popcraft.chunkypause.memory;
+
+/**
+ * A single collection through GC.run, which unlike System.gc() is not disabled by -XX:+DisableExplicitGC.
+ * Concurrent for ZGC and Shenandoah, and for G1 with -XX:+ExplicitGCInvokesConcurrent; stop-the-world otherwise.
+ */
+public class CollectAction implements GcAction {
+
+    private final DiagnosticCommand diagnostics;
+
+    public CollectAction(DiagnosticCommand diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public String getName() {
+        return "collect";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return diagnostics.hasCommand("gcRun") || !"true".equals(diagnostics.getFlag("DisableExplicitGC"));
+    }
+
+    @Override
+    public boolean run() throws Exception {
+        if (diagnostics.hasCommand("gcRun")) {
+            diagnostics.invoke("gcRun");
+        } else {
+            System.gc();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+package org.popcraft.chunkypause.memory;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.VMOption;
+
+import javax.management.JMException;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Access to HotSpot's DiagnosticCommand MBean (the jcmd commands) and manageable VM flags
+ */
+public final class DiagnosticCommand {
+
+    private static final String[] SIGNATURE = {String[].class.getName()};
+
+    private final MBeanServer server;
+    private final ObjectName name;
+    private final Set<String> operations = new HashSet<>();
+    private final HotSpotDiagnosticMXBean hotSpot;
+
+    private DiagnosticCommand(MBeanServer server, ObjectName name, HotSpotDiagnosticMXBean hotSpot) {
+        this.server = server;
+        this.name = name;
+        this.hotSpot = hotSpot;
+        if (name != null) {
+            try {
+                for (MBeanOperationInfo operation : server.getMBeanInfo(name).getOperations()) {
+                    operations.add(operation.getName());
+                }
+            } catch (JMException e) {
+                // No commands available
+            }
+        }
+    }
+
+    /**
+     * Connect to the platform MBean server; commands and flags missing on this JVM simply report unavailable
+     */
+    public static DiagnosticCommand connect() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name;
+        try {
+            name = new ObjectName("com.sun.management:type=DiagnosticCommand");
+            if (!server.isRegistered(name)) {
+                name = null;
+            }
+        } catch (JMException e) {
+            name = null;
+        }
+        return new DiagnosticCommand(server, name, ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class));
+    }
+
+    /**
+     * Check if a command exists, by its MBean operation name (e.g. "gcRun" for GC.run)
+     */
+    public boolean hasCommand(String operation) {
+        return operations.contains(operation);
+    }
+
+    /**
+     * Run a command and return its text output
+     */
+    public String invoke(String operation, String... args) throws JMException {
+        Object result = server.invoke(name, operation, new Object[]{args}, SIGNATURE);
+        return result != null ? result.toString() : "";
+    }
+
+    /**
+     * Current value of a VM flag, or null if the flag does not exist
+     */
+    public String getFlag(String flag) {
+        VMOption option = getOption(flag);
+        return option != null ? option.getValue() : null;
+    }
+
+    /**
+     * Check if a VM flag exists and can be changed at runtime
+     */
+    public boolean isFlagWriteable(String flag) {
+        VMOption option = getOption(flag);
+        return option != null && option.isWriteable();
+    }
+
+    public void setFlag(String flag, String value) {
+        hotSpot.setVMOption(flag, value);
+    }
+
+    private VMOption getOption(String flag) {
+        if (hotSpot == null) {
+            return null;
+        }
+        try {
+            return hotSpot.getVMOption(flag);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.popcraft.chunkypause.memory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estimates how long until the post-GC live set reaches the memory threshold.
+ * Live-set growth is taken as the larger of the observed post-GC trend and the
+ * allocation rate times the share of allocations that survive collection,
+ * so a burst of retained allocations is caught before it shows up in the trend.
+ * <p>
+ * Post-GC usage also counts old-generation garbage that the next marking cycle will reclaim,
+ * so it climbs between cycles even when nothing is leaking. A projection is only made once
+ * growth has outlasted a marking cycle: the lowest usage seen between two old or concurrent
+ * cycles must be above the lowest usage between the two before. Main thread only.
+ */
+public class ExhaustionPredictor {
+
+    private static final int MIN_SAMPLES = 5;
+    private static final double SMOOTHING = 0.3;
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<GarbageCollectorMXBean> cycleCollectors = findCycleCollectors(collectors);
+
+    private long lastSampleNanos = 0;
+    private long lastAllocated = 0;
+    private long lastUsed = 0;
+    private long lastGcCount = 0;
+    private long lastCycleCount = -1;
+    private boolean fullInterval = false;
+    private long cycleLow = Long.MAX_VALUE;
+    private long previousCycleLow = -1;
+    private boolean growthConfirmed = false;
+
+    private double allocationRate = 0;
+    private double survivalRatio = 0;
+    private double gcRate = 0;
+    private double liveSetGrowth = 0;
+    private double secondsToThreshold = Double.POSITIVE_INFINITY;
+
+    /**
+     * Fold in a new post-GC sample
+     * @param threshold heap usage fraction considered exhausted
+     * @param trendWindowNanos window for the post-GC trend
+     */
+    public void update(MemorySnapshot sample, MemoryHistory history, double threshold, long trendWindowNanos) {
+        long now = sample.getSampledAtNanos();
+        long gcCount = getCollectionCount();
+
+        if (lastSampleNanos != 0 && now > lastSampleNanos) {
+            double dt = (now - lastSampleNanos) / 1e9;
+            long allocated = sample.getTotalAllocatedBytes() - lastAllocated;
+            long retained = sample.getUsedBytes() - lastUsed;
+
+            if (allocated > 0) {
+                allocationRate += SMOOTHING * (allocated / dt - allocationRate);
+                double survived = Math.max(0, Math.min(1, (double) retained / allocated));
+                survivalRatio += SMOOTHING * (survived - survivalRatio);
+            }
+            gcRate += SMOOTHING * ((gcCount - lastGcCount) / dt - gcRate);
+        }
+
+        lastSampleNanos = now;
+        lastAllocated = sample.getTotalAllocatedBytes();
+        lastUsed = sample.getUsedBytes();
+        lastGcCount = gcCount;
+        updateCycles(sample.getUsedBytes());
+
+        liveSetGrowth = Math.max(history.getSlope(trendWindowNanos), allocationRate * survivalRatio);
+
+        double headroom = threshold * sample.getMaxBytes() - sample.getUsedBytes();
+        if (history.size() < MIN_SAMPLES || liveSetGrowth <= 0 || !growthConfirmed) {
+            secondsToThreshold = Double.POSITIVE_INFINITY;
+        } else {
+            secondsToThreshold = Math.max(0, headroom / liveSetGrowth);
+        }
+    }
+
+    /**
+     * Track the low point of usage between marking cycles and compare it with the previous one
+     */
+    private void updateCycles(long used) {
+        if (cycleCollectors.isEmpty()) {
+            // Nothing is left for a later cycle to reclaim (e.g. Epsilon), so all growth is real
+            growthConfirmed = true;
+            return;
+        }
+
+        long cycles = 0;
+        for (GarbageCollectorMXBean collector : cycleCollectors) {
+            cycles += Math.max(0, collector.getCollectionCount());
+        }
+        if (cycles != lastCycleCount) {
+            // Sampling starts mid-way through an interval, so the first one sets no baseline
+            if (fullInterval) {
+                growthConfirmed = previousCycleLow >= 0 && cycleLow > previousCycleLow;
+                previousCycleLow = cycleLow;
+            }
+            fullInterval = lastCycleCount >= 0;
+            lastCycleCount = cycles;
+            cycleLow = Long.MAX_VALUE;
+        }
+        cycleLow = Math.min(cycleLow, used);
+    }
+
+    /**
+     * Collectors that count old-generation or concurrent marking cycles, as opposed to young collections or pauses
+     */
+    private static List<GarbageCollectorMXBean> findCycleCollectors(List<GarbageCollectorMXBean> collectors) {
+        List<GarbageCollectorMXBean> found = new ArrayList<>();
+        for (GarbageCollectorMXBean collector : collectors) {
+            String name = collector.getName();
+            if (name.contains("Old") || name.contains("Concurrent") || name.contains("MarkSweep") 
+                    || (name.contains("Cycles") && !name.contains("Minor"))) {
+                found.add(collector);
+            }
+        }
+        return found;
+    }
+
+    public void reset() {
+        lastSampleNanos = 0;
+        lastCycleCount = -1;
+        fullInterval = false;
+        cycleLow = Long.MAX_VALUE;
+        previousCycleLow = -1;
+        growthConfirmed = false;
+        allocationRate = 0;
+        survivalRatio = 0;
+        gcRate = 0;
+        liveSetGrowth = 0;
+        secondsToThreshold = Double.POSITIVE_INFINITY;
+    }
+
+    private long getCollectionCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+
+    /**
+     * Smoothed allocation rate in bytes per second
+     */
+    public double getAllocationRate() {
+        return allocationRate;
+    }
+
+    /**
+     * Smoothed share of allocated bytes still live after collection
+     */
+    public double getSurvivalRatio() {
+        return survivalRatio;
+    }
+
+    /**
+     * Smoothed collections per second across all collectors
+     */
+    public double getGcRate() {
+        return gcRate;
+    }
+
+    /**
+     * Estimated live-set growth in bytes per second
+     */
+    public double getLiveSetGrowth() {
+        return liveSetGrowth;
+    }
+
+    /**
+     * Check if usage kept growing across the last marking cycle
+     */
+    public boolean isGrowthConfirmed() {
+        return growthConfirmed;
+    }
+
+    /**
+     * Projected seconds until the live set reaches the threshold, or infinity if it is not growing
+     * or the growth has not yet outlasted a marking cycle
+     */
+    public double getSecondsToThreshold() {
+        return secondsToThreshold;
+    }
+}
@@ -0,0 +1,23 @@
+package org.popcraft.chunkypause.memory;
+
+/**
+ * One step of a memory cleanup, run on the GC thread
+ */
+public interface GcAction {
+
+    /**
+     * Name used in config and logs
+     */
+    String getName();
+
+    /**
+     * Check if this action can do anything on the running JVM
+     */
+    boolean isAvailable();
+
+    /**
+     * Perform the action, blocking until it has taken effect or given up
+     * @return false if it gave up without taking effect
+     */
+    boolean run() throws Exception;
+}
@@ -0,0 +1,84 @@
+package org.popcraft.chunkypause.memory;
+
+/**
+ * What a single action of a cleanup cost, so a pause can be traced to the action that caused it
+ */
+public class GcActionResult {
+
+    public enum Outcome {
+        /** The action ran and took effect */
+        DONE,
+        /** The action gave up without taking effect, e.g. a wait that timed out */
+        NO_EFFECT,
+        /** The action threw or was interrupted */
+        FAILED
+    }
+
+    private final String name;
+    private final long durationMs;
+    private final long pauseMs;
+    private final long pauses;
+    private final Outcome outcome;
+
+    public GcActionResult(String name, long durationMs, long pauseMs, long pauses, Outcome outcome) {
+        this.name = name;
+        this.durationMs = durationMs;
+        this.pauseMs = pauseMs;
+        this.pauses = pauses;
+        this.outcome = outcome;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Stop-the-world time spent in collections while the action ran
+     */
+    public long getPauseMs() {
+        return pauseMs;
+    }
+
+    public long getPauses() {
+        return pauses;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Check if the action threw or was interrupted
+     */
+    public boolean isFailed() {
+        return outcome == Outcome.FAILED;
+    }
+
+    /**
+     * Check if the action ran and took effect
+     */
+    public boolean hadEffect() {
+        return outcome == Outcome.DONE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %dms, %dms stop-the-world over %d pause(s)%s",
+            name, durationMs, pauseMs, pauses, describeOutcome());
+    }
+
+    private String describeOutcome() {
+        switch (outcome) {
+            case NO_EFFECT:
+                return " (no effect)";
+            case FAILED:
+                return " (failed)";
+            default:
+                return "";
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.popcraft.chunkypause.memory;
+
+import org.popcraft.chunkypause.util.Histogram;
+
+/**
+ * Aggregated cost of the cleanups triggered for one reason
+ */
+public class GcCostStats {
+
+    private static final long[] MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+    private static final long[] MEGABYTES = {0, 16, 64, 128, 256, 512, 1024, 2048, 4096, 8192};
+
+    private final String reason;
+    private final Histogram pauses = new Histogram(MILLIS);
+    private final Histogram stopTheWorld = new Histogram(MILLIS);
+    private final Histogram tickOverrun = new Histogram(MILLIS);
+    private final Histogram reclaimed = new Histogram(MEGABYTES);
+
+    public GcCostStats(String reason) {
+        this.reason = reason;
+    }
+
+    /**
+     * Add one finished cleanup
+     * @param pauseMs each induced collector pause
+     */
+    void record(long[] pauseMs, long tickOverrunMs, long reclaimedMB) {
+        long total = 0;
+        for (long pause : pauseMs) {
+            pauses.record(pause);
+            total += pause;
+        }
+        stopTheWorld.record(total);
+        tickOverrun.record(tickOverrunMs);
+        reclaimed.record(reclaimedMB);
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public long getRuns() {
+        return stopTheWorld.getCount();
+    }
+
+    /**
+     * Individual collector pauses the cleanups induced
+     */
+    public Histogram getPauses() {
+        return pauses;
+    }
+
+    /**
+     * Total induced stop-the-world time per cleanup
+     */
+    public Histogram getStopTheWorld() {
+        return stopTheWorld;
+    }
+
+    /**
+     * Tick time lost beyond 50ms per tick while each cleanup and its aftermath ran
+     */
+    public Histogram getTickOverrun() {
+        return tickOverrun;
+    }
+
+    /**
+     * Used heap freed per cleanup in MB
+     */
+    public Histogram getReclaimed() {
+        return reclaimed;
+    }
+}
@@ -0,0 +1,130 @@
+package org.popcraft.chunkypause.memory;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures what each plugin-triggered cleanup costs the server: the collector pauses it induced
+ * (from GC notifications), and how far ticks overran 50ms while it and its aftermath ran.
+ * Results are aggregated per cleanup reason.
+ */
+public class GcCostTracker {
+
+    private static final long TICK_NANOS = 50_000_000L;
+    // Concurrent work after the actions return (e.g. a G1 cycle finishing) is still charged to the cleanup
+    private static final int GRACE_TICKS = 40;
+    private static final int MAX_PAUSES = 64;
+    // Causes HotSpot reports for collections requested through System.gc(), GC.run and G1PeriodicGCInterval
+    private static final Set<String> INDUCED_CAUSES = Set.of("System.gc()", "Diagnostic Command", "G1 Periodic Collection");
+
+    private final MonitorLoop loop;
+    private final Map<String, GcCostStats> stats = new LinkedHashMap<>();
+
+    // Written on the JMX thread while a cleanup is active
+    private final AtomicLongArray pauses = new AtomicLongArray(MAX_PAUSES);
+    private final AtomicInteger pauseCount = new AtomicInteger();
+    private volatile boolean active = false;
+
+    private String reason;
+    private long lastTickNanos;
+    private long overrunNanos;
+    private int graceTicks = -1;
+    private long reclaimedMB;
+    private MonitorLoop.Task task;
+
+    public GcCostTracker(MonitorLoop loop) {
+        this.loop = loop;
+    }
+
+    /**
+     * Start charging pauses and tick overrun to a cleanup.
+     * A previous cleanup still in its grace period is recorded with what was measured so far.
+     */
+    public void begin(String reason) {
+        if (active && graceTicks >= 0) {
+            record();
+        }
+        cancel();
+        this.reason = reason;
+        pauseCount.set(0);
+        overrunNanos = 0;
+        graceTicks = -1;
+        lastTickNanos = System.nanoTime();
+        active = true;
+        task = loop.schedule(MonitorLoop.Phase.DISPATCH, 1L, this::tick);
+    }
+
+    /**
+     * The cleanup's actions returned; keep measuring for a short grace period, then record
+     */
+    public void finish(GcResult result) {
+        if (!active) {
+            return;
+        }
+        reclaimedMB = Math.max(0, result.getFreedUsedMB());
+        graceTicks = GRACE_TICKS;
+    }
+
+    /**
+     * Drop the current measurement, e.g. when the cleanup could not be started
+     */
+    public void cancel() {
+        active = false;
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Called from the JMX notification thread for every collection
+     */
+    public void onCollection(GarbageCollectionNotificationInfo info) {
+        if (!active || info.getGcName().contains("Cycles")) {
+            return;
+        }
+        // Pauses of a G1 concurrent cycle carry the cycle's phase as their cause
+        if (!INDUCED_CAUSES.contains(info.getGcCause()) && !info.getGcName().equals("G1 Concurrent GC")) {
+            return;
+        }
+        int index = pauseCount.getAndIncrement();
+        if (index < MAX_PAUSES) {
+            pauses.set(index, info.getGcInfo().getDuration());
+        }
+    }
+
+    private void tick() {
+        long now = loop.getTickStartNanos();
+        overrunNanos += Math.max(0, now - lastTickNanos - TICK_NANOS);
+        lastTickNanos = now;
+
+        if (graceTicks >= 0 && graceTicks-- == 0) {
+            record();
+        }
+    }
+
+    private void record() {
+        cancel();
+        long[] induced = new long[Math.min(pauseCount.get(), MAX_PAUSES)];
+        for (int i = 0; i < induced.length; i++) {
+            induced[i] = pauses.get(i);
+        }
+        stats.computeIfAbsent(reason, GcCostStats::new).record(induced, overrunNanos / 1_000_000, reclaimedMB);
+    }
+
+    public Collection<GcCostStats> getStats() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+    public GcCostStats getStats(String reason) {
+        return stats.get(reason);
+    }
+}
@@ -0,0 +1,101 @@
+package org.popcraft.chunkypause.memory;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.popcraft.chunkypause.util.ColorUtil.*;
+
+/**
+ * Runs GC strategies on a dedicated thread so they never block a server tick
+ */
+public class GcExecutor {
+
+    private final JavaPlugin plugin;
+    private final ExecutorService executor;
+    private final AtomicBoolean busy = new AtomicBoolean(false);
+
+    public GcExecutor(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ChunkyPause-GC");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run a task off the main thread and hand its result back on the main thread.
+     * Only one task runs at a time, counting until its callback has run; returns false if one is already in progress.
+     */
+    public <T> boolean submit(Supplier<T> task, Consumer<T> callback) {
+        return submit(task, callback, () -> { });
+    }
+
+    /**
+     * Like {@link #submit(Supplier, Consumer)}, running failure on the main thread instead of the callback if the task throws
+     */
+    public <T> boolean submit(Supplier<T> task, Consumer<T> callback, Runnable failure) {
+        if (!busy.compareAndSet(false, true)) {
+            return false;
+        }
+
+        try {
+            executor.execute(() -> {
+                T result;
+                try {
+                    result = task.get();
+                } catch (Throwable e) {
+                    // Errors too: an OutOfMemoryError is likely in exactly the situations a cleanup runs in
+                    plugin.getLogger().warning(warning("GC task failed: " + e));
+                    complete(failure);
+                    return;
+                }
+                complete(() -> callback.accept(result));
+            });
+        } catch (RejectedExecutionException e) {
+            busy.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Hand the outcome to the main thread. The executor stays busy until it has been handled there,
+     * so a new task cannot start while the previous one's results are still waiting to be applied.
+     */
+    private void complete(Runnable outcome) {
+        // Scheduling against a disabled plugin throws, so drop the outcome on shutdown
+        if (!plugin.isEnabled()) {
+            busy.set(false);
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            try {
+                outcome.run();
+            } finally {
+                busy.set(false);
+            }
+        });
+    }
+
+    /**
+     * Check if a task is running or its outcome is still waiting for the main thread
+     */
+    public boolean isBusy() {
+        return busy.get();
+    }
+
+    /**
+     * Stop the executor, interrupting any running strategy
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
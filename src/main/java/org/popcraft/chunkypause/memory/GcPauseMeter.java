@@ -0,0 +1,65 @@
+package org.popcraft.chunkypause.memory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures stop-the-world time from the collector MXBeans.
+ * ZGC and Shenandoah report concurrent work on separate "Cycles" beans, which are left out;
+ * every other collector's time is pause time.
+ */
+public class GcPauseMeter {
+
+    private final List<GarbageCollectorMXBean> pauseCollectors = new ArrayList<>();
+
+    private long startTime;
+    private long startCount;
+
+    public GcPauseMeter() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!collector.getName().contains("Cycles")) {
+                pauseCollectors.add(collector);
+            }
+        }
+    }
+
+    /**
+     * Remember the current totals
+     */
+    public void start() {
+        startTime = getPauseTime();
+        startCount = getPauseCount();
+    }
+
+    /**
+     * Pause time in milliseconds since start
+     */
+    public long getPauseMs() {
+        return getPauseTime() - startTime;
+    }
+
+    /**
+     * Number of pauses since start
+     */
+    public long getPauses() {
+        return getPauseCount() - startCount;
+    }
+
+    private long getPauseTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : pauseCollectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    private long getPauseCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : pauseCollectors) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+}
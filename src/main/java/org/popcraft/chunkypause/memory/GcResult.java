@@ -0,0 +1,75 @@
+package org.popcraft.chunkypause.memory;
+
+import java.util.List;
+
+/**
+ * Immutable outcome of a plugin-triggered garbage collection
+ */
+public class GcResult {
+    private final String reason;
+    private final MemoryInfo before;
+    private final MemoryInfo after;
+    private final long durationMs;
+    private final long pauseMs;
+    private final long pauses;
+    private final List<GcActionResult> actions;
+
+    public GcResult(String reason, MemoryInfo before, MemoryInfo after, long durationMs, long pauseMs, long pauses,
+                    List<GcActionResult> actions) {
+        this.reason = reason;
+        this.before = before;
+        this.after = after;
+        this.durationMs = durationMs;
+        this.pauseMs = pauseMs;
+        this.pauses = pauses;
+        this.actions = actions;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public MemoryInfo getBefore() {
+        return before;
+    }
+
+    public MemoryInfo getAfter() {
+        return after;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Stop-the-world time spent in collections while the cleanup ran
+     */
+    public long getPauseMs() {
+        return pauseMs;
+    }
+
+    public long getPauses() {
+        return pauses;
+    }
+
+    /**
+     * Cost of each action, in the order they ran
+     */
+    public List<GcActionResult> getActions() {
+        return actions;
+    }
+
+    public long getFreedUsedMB() {
+        return before.getUsedMB() - after.getUsedMB();
+    }
+
+    public long getFreedAllocatedMB() {
+        return before.getAllocatedMB() - after.getAllocatedMB();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GcResult[Reason=%s, Freed=%dMB, Duration=%dms, Paused=%dms]",
+            reason, getFreedUsedMB(), durationMs, pauseMs);
+    }
+}
@@ -0,0 +1,202 @@
+package org.popcraft.chunkypause.memory;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of timestamped heap samples kept in primitive arrays.
+ * Samples closer together than one second share a slot, so the capacity bounds the time span
+ * regardless of how often the collector runs. Main thread only.
+ */
+public class MemoryHistory {
+
+    private static final long MIN_SPACING_NANOS = 1_000_000_000L;
+    private static final char[] BARS = {'▁', '▂', '▃', '▄', '▅', '▆', '▇', '█'};
+
+    private final long[] times;
+    private final long[] used;
+    private final long[] scratch;
+    private final double ewmaSeconds;
+
+    private int head = 0;
+    private int count = 0;
+    private long maxBytes = 0;
+    private double ewma = 0;
+
+    public MemoryHistory(int capacity, double ewmaSeconds) {
+        int size = Math.max(2, capacity);
+        this.times = new long[size];
+        this.used = new long[size];
+        this.scratch = new long[size];
+        this.ewmaSeconds = Math.max(1, ewmaSeconds);
+    }
+
+    /**
+     * Append a sample, merging it into the newest slot if that one is less than a second old
+     */
+    public void record(MemorySnapshot sample) {
+        long time = sample.getSampledAtNanos();
+        maxBytes = sample.getMaxBytes();
+
+        if (count == 0) {
+            ewma = sample.getUsedBytes();
+        } else {
+            // Time-weighted smoothing, since collections do not arrive at a fixed rate
+            double dtSeconds = Math.max(0, time - times[newest()]) / 1e9;
+            double alpha = 1 - Math.exp(-dtSeconds / ewmaSeconds);
+            ewma += alpha * (sample.getUsedBytes() - ewma);
+        }
+
+        if (count > 0 && time - times[newest()] < MIN_SPACING_NANOS) {
+            int slot = newest();
+            used[slot] = sample.getUsedBytes();
+            return;
+        }
+
+        times[head] = time;
+        used[head] = sample.getUsedBytes();
+        head = (head + 1) % times.length;
+        if (count < times.length) {
+            count++;
+        }
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+        ewma = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Smoothed used heap in bytes
+     */
+    public double getEwma() {
+        return ewma;
+    }
+
+    /**
+     * Smoothed used heap as a fraction of max heap
+     */
+    public double getEwmaPercent() {
+        return maxBytes > 0 ? ewma / maxBytes : 0;
+    }
+
+    /**
+     * Least-squares growth of used heap over the window in bytes per second
+     */
+    public double getSlope(long windowNanos) {
+        int n = countInWindow(windowNanos);
+        if (n < 2) {
+            return 0;
+        }
+
+        // Offsets from the newest sample keep the sums small
+        long origin = times[newest()];
+        double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+        for (int i = 0; i < n; i++) {
+            int slot = slot(i);
+            double x = (times[slot] - origin) / 1e9;
+            double y = used[slot];
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+    }
+
+    /**
+     * Growth over the window as a fraction of max heap per second
+     */
+    public double getSlopePercent(long windowNanos) {
+        return maxBytes > 0 ? getSlope(windowNanos) / maxBytes : 0;
+    }
+
+    public long getMin(long windowNanos) {
+        int n = countInWindow(windowNanos);
+        long min = n > 0 ? Long.MAX_VALUE : 0;
+        for (int i = 0; i < n; i++) {
+            min = Math.min(min, used[slot(i)]);
+        }
+        return min;
+    }
+
+    public long getMax(long windowNanos) {
+        int n = countInWindow(windowNanos);
+        long max = 0;
+        for (int i = 0; i < n; i++) {
+            max = Math.max(max, used[slot(i)]);
+        }
+        return max;
+    }
+
+    /**
+     * Used heap at the given percentile (0.0 - 1.0) over the window, in bytes
+     */
+    public long getPercentile(long windowNanos, double percentile) {
+        int n = countInWindow(windowNanos);
+        if (n == 0) {
+            return 0;
+        }
+        for (int i = 0; i < n; i++) {
+            scratch[i] = used[slot(i)];
+        }
+        Arrays.sort(scratch, 0, n);
+        int rank = (int) Math.ceil(percentile * n) - 1;
+        return scratch[Math.max(0, Math.min(n - 1, rank))];
+    }
+
+    /**
+     * Render the window as block characters scaled against max heap, oldest on the left.
+     * Each column shows the highest sample in its slice; gaps repeat the previous column.
+     */
+    public String sparkline(long windowNanos, int width) {
+        int n = countInWindow(windowNanos);
+        if (n == 0 || maxBytes <= 0 || width <= 0) {
+            return "";
+        }
+
+        long end = System.nanoTime();
+        long start = end - windowNanos;
+        StringBuilder line = new StringBuilder(width);
+        int sample = n - 1;
+        int previous = -1;
+        for (int column = 0; column < width; column++) {
+            long columnEnd = start + (windowNanos * (column + 1)) / width;
+            long peak = -1;
+            while (sample >= 0 && times[slot(sample)] <= columnEnd) {
+                peak = Math.max(peak, used[slot(sample)]);
+                sample--;
+            }
+            if (peak >= 0) {
+                previous = (int) Math.min(BARS.length - 1, peak * BARS.length / maxBytes);
+            }
+            line.append(previous >= 0 ? BARS[previous] : ' ');
+        }
+        return line.toString();
+    }
+
+    private int countInWindow(long windowNanos) {
+        long cutoff = System.nanoTime() - windowNanos;
+        int n = 0;
+        while (n < count && times[slot(n)] >= cutoff) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Ring index of the i-th newest sample
+     */
+    private int slot(int age) {
+        return Math.floorMod(head - 1 - age, times.length);
+    }
+
+    private int newest() {
+        return slot(0);
+    }
+}
@@ -1,10 +1,16 @@
 package org.popcraft.chunkypause.memory;
 
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+import org.popcraft.chunkypause.jfr.CleanupEvent;
 
 import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 import static org.popcraft.chunkypause.util.ColorUtil.*;
 
@@ -14,15 +20,87 @@ import static org.popcraft.chunkypause.util.ColorUtil.*;
 public class MemoryManager {
     
     private final JavaPlugin plugin;
-    private final String gcType;
     private final boolean isFixedHeapSize;
-    private long lastGCTime = 0;
-    private static final long GC_COOLDOWN = 10000; // 10 seconds
+    private final GcExecutor gcExecutor;
+    private final DiagnosticCommand diagnostics = DiagnosticCommand.connect();
+    private final Map<String, GcAction> availableActions = new LinkedHashMap<>();
+    private final GcPauseMeter pauseMeter = new GcPauseMeter();
+    private final GcCostTracker costTracker;
+    private volatile List<GcAction> actions;
     
-    public MemoryManager(JavaPlugin plugin, String gcType, boolean isFixedHeapSize) {
+    public MemoryManager(JavaPlugin plugin, MonitorLoop loop, boolean isFixedHeapSize) {
         this.plugin = plugin;
-        this.gcType = gcType;
         this.isFixedHeapSize = isFixedHeapSize;
+        this.gcExecutor = new GcExecutor(plugin);
+        this.costTracker = new GcCostTracker(loop);
+        
+        for (GcAction action : List.of(new CollectAction(diagnostics), new G1PeriodicCollectAction(diagnostics), 
+                                       new TrimNativeHeapAction(diagnostics))) {
+            if (action.isAvailable()) {
+                availableActions.put(action.getName(), action);
+            }
+        }
+        this.actions = getDefaultActions();
+    }
+    
+    /**
+     * Pick the cleanup that costs the least pause time on this collector
+     */
+    private List<GcAction> getDefaultActions() {
+        List<String> names = new ArrayList<>();
+        // Concurrent on ZGC, Shenandoah and G1 with -XX:+ExplicitGCInvokesConcurrent; stop-the-world otherwise.
+        // g1-periodic is not a default: it waits for a quiet heap, which never comes while chunks generate
+        names.add("collect");
+        names.add("trim-native");
+        
+        List<GcAction> defaults = new ArrayList<>();
+        for (String name : names) {
+            GcAction action = availableActions.get(name);
+            if (action != null) {
+                defaults.add(action);
+            }
+        }
+        return defaults;
+    }
+    
+    /**
+     * Set the cleanup actions by name, or pick them for the running collector if the list is empty
+     */
+    public void setActions(List<String> names) {
+        if (names.isEmpty()) {
+            actions = getDefaultActions();
+            return;
+        }
+        
+        List<GcAction> configured = new ArrayList<>();
+        for (String name : names) {
+            GcAction action = availableActions.get(name);
+            if (action != null) {
+                configured.add(action);
+            } else {
+                plugin.getLogger().warning(warning("GC action " + name + " is unknown or unavailable on this JVM (available: " + 
+                    String.join(", ", availableActions.keySet()) + ")"));
+            }
+        }
+        actions = configured;
+    }
+    
+    /**
+     * Cost accounting for the cleanups this manager triggers
+     */
+    public GcCostTracker getCostTracker() {
+        return costTracker;
+    }
+    
+    /**
+     * Names of the actions a cleanup runs, in order
+     */
+    public String describeActions() {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (GcAction action : actions) {
+            joiner.add(action.getName());
+        }
+        return joiner.length() > 0 ? joiner.toString() : "none";
     }
     
     /**
@@ -43,110 +121,137 @@ public class MemoryManager {
         );
     }
     
+    /**
+     * Read current heap usage into an existing snapshot without allocating
+     */
+    public void sample(MemorySnapshot into) {
+        Runtime runtime = Runtime.getRuntime();
+        long totalMemory = runtime.totalMemory();
+        into.set(totalMemory - runtime.freeMemory(), totalMemory, runtime.maxMemory(), System.nanoTime());
+    }
+    
     /**
      * Perform optimized garbage collection
+     * @return false if a cleanup is already in progress
      */
-    public void performGC(String reason) {
-        long currentTime = System.currentTimeMillis();
-        
-        // Check GC cooldown
-        if (currentTime - lastGCTime < GC_COOLDOWN) {
-            plugin.getLogger().info(info("Skipping GC (cooldown active, last GC: " + 
-                ((currentTime - lastGCTime) / 1000) + "s ago)"));
-            return;
+    public boolean performGC(String reason) {
+        return performGC(reason, result -> { });
+    }
+    
+    /**
+     * Perform optimized garbage collection on the GC thread.
+     * The callback runs on the main thread once the strategy has finished.
+     * Rate limiting is up to the caller, see {@link CleanupScheduler}.
+     * @return false if a cleanup is already in progress
+     */
+    public boolean performGC(String reason, Consumer<GcResult> callback) {
+        // Checked before measuring so a rejected request never disturbs the running cleanup's measurement
+        if (gcExecutor.isBusy()) {
+            return false;
         }
-        
-        lastGCTime = currentTime;
         MemoryInfo beforeGC = getMemoryInfo();
+        costTracker.begin(reason);
         
-        plugin.getLogger().info(highlight("=== Starting Memory Cleanup (" + reason + ") ==="));
-        plugin.getLogger().info(info("Before: Used=" + beforeGC.getUsedMB() + "MB, Allocated=" + 
-            beforeGC.getAllocatedMB() + "MB, Max=" + beforeGC.getMaxMB() + "MB (" + 
-            String.format("%.1f%%", beforeGC.getUsagePercent() * 100) + ")"));
-        
-        // Execute GC strategy
-        executeGCStrategy();
+        boolean submitted = gcExecutor.submit(() -> {
+            plugin.getLogger().info(highlight("=== Starting Memory Cleanup (" + reason + ") ==="));
+            plugin.getLogger().info(info("Before: Used=" + beforeGC.getUsedMB() + "MB, Allocated=" + 
+                beforeGC.getAllocatedMB() + "MB, Max=" + beforeGC.getMaxMB() + "MB (" + 
+                String.format("%.1f%%", beforeGC.getUsagePercent() * 100) + ")"));
+            
+            plugin.getLogger().info(info("Actions: " + describeActions()));
+            
+            CleanupEvent event = new CleanupEvent();
+            event.begin();
+            long start = System.nanoTime();
+            
+            List<GcActionResult> actionResults = runActions();
+            
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            long pauseMs = 0;
+            long pauses = 0;
+            for (GcActionResult actionResult : actionResults) {
+                pauseMs += actionResult.getPauseMs();
+                pauses += actionResult.getPauses();
+            }
+            GcResult result = new GcResult(reason, beforeGC, getMemoryInfo(), durationMs, pauseMs, pauses, actionResults);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setReason(reason, describeActions());
+                event.setBefore(beforeGC);
+                event.setAfter(result.getAfter(), result.getPauseMs(), result.getPauses());
+                event.commit();
+            }
+            return result;
+        }, result -> {
+            reportResults(result);
+            costTracker.finish(result);
+            callback.accept(result);
+        }, costTracker::cancel);
         
-        // Try to release memory if not fixed heap
-        if (!isFixedHeapSize) {
-            attemptMemoryRelease();
+        if (!submitted) {
+            costTracker.cancel();
         }
-        
-        // Report results after delay
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                reportResults(beforeGC);
-            }
-        }.runTaskLater(plugin, 40L); // Wait 2 seconds
+        return submitted;
     }
     
     /**
-     * Execute GC strategy based on configuration
+     * Stop the GC thread
      */
-    private void executeGCStrategy() {
-        try {
-            if (isFixedHeapSize) {
-                plugin.getLogger().info(info("Strategy: Fixed heap - Single full GC pass"));
-                System.gc();
-                Thread.sleep(200);
-            } else if (gcType.contains("ZGC") || gcType.contains("Shenandoah")) {
-                plugin.getLogger().info(info("Strategy: Low-pause GC - Minimal intervention"));
-                System.gc();
-                Thread.sleep(100);
-            } else if (gcType.contains("G1")) {
-                plugin.getLogger().info(info("Strategy: G1GC - Dual-pass cleanup"));
-                System.gc();
-                Thread.sleep(250);
-                System.gc();
-            } else {
-                plugin.getLogger().info(info("Strategy: Standard GC - Multi-pass aggressive"));
-                for (int i = 0; i < 3; i++) {
-                    System.gc();
-                    Thread.sleep(200);
-                }
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            plugin.getLogger().warning(warning("GC strategy interrupted"));
-        }
+    public void shutdown() {
+        costTracker.cancel();
+        gcExecutor.shutdown();
     }
     
     /**
-     * Attempt to release memory back to OS
+     * Run each planned action, carrying on past failures, and measure what each one cost.
+     * Pauses include unrelated collections that happened meanwhile, so they are an upper bound.
      */
-    private void attemptMemoryRelease() {
-        plugin.getLogger().info(info("Attempting to release memory back to OS..."));
-        
-        try {
-            Runtime runtime = Runtime.getRuntime();
-            long before = runtime.totalMemory();
-            
-            System.gc();
-            Thread.sleep(500);
-            
-            long after = runtime.totalMemory();
-            long released = (before - after) / (1024 * 1024);
-            
-            if (released > 0) {
-                plugin.getLogger().info(success("Successfully released " + released + "MB back to OS"));
-            } else {
-                plugin.getLogger().info(info("JVM holding allocated memory (expected with -Xms near -Xmx)"));
+    private List<GcActionResult> runActions() {
+        List<GcActionResult> results = new ArrayList<>(actions.size());
+        for (GcAction action : actions) {
+            long start = System.nanoTime();
+            pauseMeter.start();
+            GcActionResult.Outcome outcome;
+            boolean interrupted = false;
+            try {
+                outcome = action.run() ? GcActionResult.Outcome.DONE : GcActionResult.Outcome.NO_EFFECT;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                plugin.getLogger().warning(warning("GC action interrupted: " + action.getName()));
+                outcome = GcActionResult.Outcome.FAILED;
+                interrupted = true;
+            } catch (Exception e) {
+                plugin.getLogger().warning(warning("GC action " + action.getName() + " failed: " + e.getMessage()));
+                outcome = GcActionResult.Outcome.FAILED;
+            }
+            if (outcome == GcActionResult.Outcome.NO_EFFECT) {
+                plugin.getLogger().info(info("GC action " + action.getName() + " gave up without taking effect"));
+            }
+            results.add(new GcActionResult(action.getName(), (System.nanoTime() - start) / 1_000_000,
+                pauseMeter.getPauseMs(), pauseMeter.getPauses(), outcome));
+            if (interrupted) {
+                break;
             }
-        } catch (Exception e) {
-            // Ignore
         }
+        return results;
     }
     
     /**
      * Report GC results
      */
-    private void reportResults(MemoryInfo beforeGC) {
-        MemoryInfo afterGC = getMemoryInfo();
-        long freedUsedMB = beforeGC.getUsedMB() - afterGC.getUsedMB();
-        long freedAllocatedMB = beforeGC.getAllocatedMB() - afterGC.getAllocatedMB();
+    private void reportResults(GcResult result) {
+        MemoryInfo beforeGC = result.getBefore();
+        MemoryInfo afterGC = result.getAfter();
+        long freedUsedMB = result.getFreedUsedMB();
+        long freedAllocatedMB = result.getFreedAllocatedMB();
         
-        plugin.getLogger().info(highlight("=== Memory Cleanup Complete ==="));
+        plugin.getLogger().info(highlight("=== Memory Cleanup Complete (" + result.getDurationMs() + "ms off-thread, " + 
+            result.getPauseMs() + "ms stop-the-world over " + result.getPauses() + " pause(s)) ==="));
+        if (result.getActions().size() > 1) {
+            for (GcActionResult actionResult : result.getActions()) {
+                plugin.getLogger().info(info("  " + actionResult));
+            }
+        }
         plugin.getLogger().info(info("After: Used=" + afterGC.getUsedMB() + "MB, Allocated=" + 
             afterGC.getAllocatedMB() + "MB, Max=" + afterGC.getMaxMB() + "MB (" + 
             String.format("%.1f%%", afterGC.getUsagePercent() * 100) + ")"));
@@ -169,7 +274,7 @@ public class MemoryManager {
     }
     
     /**
-     * Detect garbage collector type
+     * Detect garbage collector type from the JVM arguments, falling back to the collector beans
      */
     public static String detectGarbageCollector() {
         try {
@@ -201,7 +306,7 @@ public class MemoryManager {
     }
     
     /**
-     * Detect if heap size is fixed (-Xmx = -Xms)
+     * Detect if heap size is fixed (-Xmx = -Xms); only reliable at startup, before the heap grows
      */
     public static boolean detectFixedHeapSize() {
         Runtime runtime = Runtime.getRuntime();
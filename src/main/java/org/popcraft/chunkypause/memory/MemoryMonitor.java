@@ -1,182 +1,255 @@
 package org.popcraft.chunkypause.memory;
 
+import com.sun.management.GarbageCollectionNotificationInfo;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.popcraft.chunky.api.ChunkyAPI;
+import org.bukkit.scheduler.BukkitTask;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.popcraft.chunkypause.util.ColorUtil.*;
 
 /**
- * Monitors memory usage and triggers actions when thresholds are exceeded
+ * Watches heap usage through GC notifications instead of polling Runtime.
+ * Samples reflect the post-GC live set, so uncollected garbage never trips the threshold.
+ * Readings are written into preallocated snapshots, so sampling adds nothing to the heap it watches.
  */
 public class MemoryMonitor {
-    
+
     private final JavaPlugin plugin;
-    private final ChunkyAPI chunky;
-    private final MemoryManager memoryManager;
-    private final double memoryThreshold;
-    private final long checkInterval;
-    private final long resumeDelay;
-    
-    private boolean isPausedByMemory = false;
-    private long lastMemoryLogTime = 0;
-    private static final long MEMORY_LOG_INTERVAL = 60000; // 60 seconds
-    
-    public MemoryMonitor(JavaPlugin plugin, ChunkyAPI chunky, MemoryManager memoryManager,
-                        double memoryThreshold, long checkInterval, long resumeDelay) {
+    private final MonitorLoop loop;
+    private final Consumer<MemorySnapshot> listener;
+    private final long fallbackInterval;
+    private double memoryThreshold;
+
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final List<MemoryPoolMXBean> thresholdPools = new ArrayList<>();
+    private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+    private String[] heapPoolNames = new String[0];
+    // Written by the JMX or polling thread, copied out on the main thread
+    private final MemorySnapshot latest = new MemorySnapshot();
+    // Owned by the main thread and reused for every dispatch
+    private final MemorySnapshot dispatched = new MemorySnapshot();
+    // Allocation estimate, only touched on the JMX notification thread
+    private long totalAllocatedBytes = 0;
+    private long lastUsedAfterGc = -1;
+    private final NotificationListener notificationListener = this::handleNotification;
+    private volatile Consumer<GarbageCollectionNotificationInfo> collectionListener = info -> { };
+    private BukkitTask fallbackTask;
+    private volatile MonitorLoop.Task dispatchTask;
+
+    public MemoryMonitor(JavaPlugin plugin, MonitorLoop loop, double memoryThreshold, long fallbackInterval,
+                         Consumer<MemorySnapshot> listener) {
         this.plugin = plugin;
-        this.chunky = chunky;
-        this.memoryManager = memoryManager;
+        this.loop = loop;
         this.memoryThreshold = memoryThreshold;
-        this.checkInterval = checkInterval;
-        this.resumeDelay = resumeDelay;
+        this.fallbackInterval = fallbackInterval;
+        this.listener = listener;
     }
-    
+
     /**
-     * Start monitoring memory
+     * Subscribe to GC and collection threshold notifications
      */
     public void start() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                checkMemory();
+        dispatchTask = loop.schedule(MonitorLoop.Phase.SAMPLE, 0, this::dispatch);
+        heapPools.clear();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+        heapPoolNames = new String[heapPools.size()];
+        for (int i = 0; i < heapPoolNames.length; i++) {
+            heapPoolNames[i] = heapPools.get(i).getName();
+        }
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(notificationListener, null, null);
+                emitters.add(emitter);
             }
-        }.runTaskTimer(plugin, 20L, checkInterval);
+        }
+
+        if (ManagementFactory.getMemoryMXBean() instanceof NotificationEmitter emitter) {
+            emitter.addNotificationListener(notificationListener, null, null);
+            emitters.add(emitter);
+        }
+        applyCollectionThresholds();
+
+        if (emitters.isEmpty()) {
+            // JVM without GC notifications, fall back to polling off the main thread
+            plugin.getLogger().warning(warning("GC notifications unavailable - falling back to polling"));
+            fallbackTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin,
+                this::sampleLiveSet, 20L, fallbackInterval);
+        }
     }
-    
+
     /**
-     * Check current memory status
+     * Unsubscribe from all notifications and clear pool thresholds
      */
-    private void checkMemory() {
-        try {
-            MemoryInfo memInfo = memoryManager.getMemoryInfo();
-            
-            // Periodic logging
-            if (shouldLogMemory()) {
-                logMemoryStatus(memInfo);
-            }
-            
-            // Check for critical memory conditions
-            if (memInfo.getUsagePercent() > memoryThreshold && !isPausedByMemory) {
-                handleHighMemory(memInfo);
+    public void stop() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(notificationListener);
+            } catch (ListenerNotFoundException e) {
+                // Already removed
             }
-        } catch (Exception e) {
-            plugin.getLogger().warning(warning("Error in memory monitor: " + e.getMessage()));
         }
+        emitters.clear();
+
+        for (MemoryPoolMXBean pool : thresholdPools) {
+            pool.setCollectionUsageThreshold(0);
+        }
+        thresholdPools.clear();
+
+        if (fallbackTask != null) {
+            fallbackTask.cancel();
+            fallbackTask = null;
+        }
+        if (dispatchTask != null) {
+            dispatchTask.cancel();
+            dispatchTask = null;
+        }
+    }
+
+    /**
+     * Set a listener for every collection, called on the JMX notification thread
+     */
+    public void setCollectionListener(Consumer<GarbageCollectionNotificationInfo> collectionListener) {
+        this.collectionListener = collectionListener;
+    }
+
+    /**
+     * Update the usage threshold applied to heap pools
+     */
+    public void setMemoryThreshold(double memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+        applyCollectionThresholds();
+    }
+
+    /**
+     * Copy the latest post-GC sample into the given snapshot
+     * @return false if no collection has happened yet
+     */
+    public boolean copyLatest(MemorySnapshot into) {
+        return latest.copyTo(into);
     }
-    
+
     /**
-     * Should we log memory status?
+     * Arm collection usage thresholds on every heap pool that supports them
      */
-    private boolean shouldLogMemory() {
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastMemoryLogTime >= MEMORY_LOG_INTERVAL) {
-            lastMemoryLogTime = currentTime;
-            return true;
+    private void applyCollectionThresholds() {
+        thresholdPools.clear();
+        for (MemoryPoolMXBean pool : heapPools) {
+            if (!pool.isCollectionUsageThresholdSupported()) {
+                continue;
+            }
+            long max = pool.getUsage().getMax();
+            if (max <= 0) {
+                continue;
+            }
+            pool.setCollectionUsageThreshold((long) (max * memoryThreshold));
+            thresholdPools.add(pool);
         }
-        return false;
     }
-    
+
     /**
-     * Log current memory status
+     * Handle a JMX notification (runs on the JMX service thread)
      */
-    private void logMemoryStatus(MemoryInfo memInfo) {
-        double allocatedPercent = ((double) memInfo.getAllocatedMB() / memInfo.getMaxMB()) * 100;
-        
-        plugin.getLogger().info(String.format(
-            "Memory: %.1f%% used (%dMB / %dMB allocated / %dMB max) | Allocated: %.1f%%",
-            memInfo.getUsagePercent() * 100,
-            memInfo.getUsedMB(),
-            memInfo.getAllocatedMB(),
-            memInfo.getMaxMB(),
-            allocatedPercent
-        ));
+    private void handleNotification(Notification notification, Object handback) {
+        String type = notification.getType();
+
+        if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(type)) {
+            GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            collectionListener.accept(info);
+            countAllocation(info.getGcInfo().getMemoryUsageBeforeGc());
+            sampleUsageAfterGc(info.getGcInfo().getMemoryUsageAfterGc());
+        } else if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type)) {
+            sampleLiveSet();
+        }
     }
-    
+
     /**
-     * Handle high memory situation
+     * Sum heap pool usage as it was right after the last collection of each pool
      */
-    private void handleHighMemory(MemoryInfo memInfo) {
-        if (chunky == null || isPausedByMemory) return;
-        
-        isPausedByMemory = true;
-        plugin.getLogger().warning(warning(String.format(
-            "Memory usage critical (%.1f%%)! Pausing Chunky generation and cleaning memory...", 
-            memInfo.getUsagePercent() * 100)));
-        
-        // Pause all Chunky tasks
-        int pausedCount = 0;
-        for (org.bukkit.World world : Bukkit.getServer().getWorlds()) {
-            try {
-                chunky.pauseTask(world.getName());
-                pausedCount++;
-            } catch (Exception e) {
-                // Task might not be running
+    private void sampleLiveSet() {
+        long used = 0;
+        long committed = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage == null) {
+                usage = pool.getUsage();
             }
+            used += usage.getUsed();
+            committed += usage.getCommitted();
         }
-        
-        if (pausedCount == 0) {
-            plugin.getLogger().info(info("No active Chunky tasks found - nothing to pause"));
-            isPausedByMemory = false;
-            return;
-        }
-        
-        plugin.getLogger().info(info("Paused " + pausedCount + " Chunky task(s)"));
-        
-        // Perform GC
-        memoryManager.performGC("high memory");
-        
-        // Schedule recovery check
-        scheduleRecoveryCheck();
+        publish(used, committed);
     }
-    
+
+    private void sampleUsageAfterGc(Map<String, MemoryUsage> usageAfterGc) {
+        long used = 0;
+        long committed = 0;
+        for (String name : heapPoolNames) {
+            MemoryUsage usage = usageAfterGc.get(name);
+            if (usage != null) {
+                used += usage.getUsed();
+                committed += usage.getCommitted();
+            }
+        }
+        lastUsedAfterGc = used;
+        publish(used, committed);
+    }
+
     /**
-     * Schedule memory recovery check
+     * Everything in the heap before this collection that was not there after the previous one was allocated in between
      */
-    private void scheduleRecoveryCheck() {
-        new BukkitRunnable() {
-            int attempts = 0;
-            final int maxAttempts = 6;
-            
-            @Override
-            public void run() {
-                MemoryInfo memInfo = memoryManager.getMemoryInfo();
-                attempts++;
-                
-                if (memInfo.getUsagePercent() < memoryThreshold - 0.05) {
-                    isPausedByMemory = false;
-                    plugin.getLogger().info(success(String.format(
-                        "Memory recovered (%.1f%%). Memory monitor cleared.", 
-                        memInfo.getUsagePercent() * 100)));
-                    cancel();
-                } else if (attempts >= maxAttempts) {
-                    plugin.getLogger().warning(warning(String.format(
-                        "Memory still high after %d seconds (%.1f%%).", 
-                        (maxAttempts * resumeDelay / 20),
-                        memInfo.getUsagePercent() * 100)));
-                    plugin.getLogger().warning(warning("Will retry when memory drops naturally."));
-                    cancel();
-                } else if (attempts % 2 == 0) {
-                    plugin.getLogger().info(info(String.format(
-                        "Waiting for memory to recover... (%.1f%% used, attempt %d/%d)", 
-                        memInfo.getUsagePercent() * 100, attempts, maxAttempts)));
-                }
+    private void countAllocation(Map<String, MemoryUsage> usageBeforeGc) {
+        long used = 0;
+        for (String name : heapPoolNames) {
+            MemoryUsage usage = usageBeforeGc.get(name);
+            if (usage != null) {
+                used += usage.getUsed();
             }
-        }.runTaskTimer(plugin, resumeDelay, resumeDelay);
+        }
+        if (lastUsedAfterGc >= 0 && used > lastUsedAfterGc) {
+            totalAllocatedBytes += used - lastUsedAfterGc;
+        }
     }
-    
+
     /**
-     * Check if paused by memory
+     * Store the newest sample and wake the dispatch for the next tick's sampling pass.
+     * Bursts of collections between two ticks collapse into a single dispatch.
      */
-    public boolean isPausedByMemory() {
-        return isPausedByMemory;
+    private void publish(long used, long committed) {
+        latest.set(used, committed, Runtime.getRuntime().maxMemory(), totalAllocatedBytes, System.nanoTime());
+        MonitorLoop.Task dispatcher = dispatchTask;
+        if (dispatcher != null) {
+            dispatcher.wake();
+        }
     }
-    
+
     /**
-     * Reset pause state
+     * Hand the newest sample to the listener; the snapshot is reused and only valid during the call
      */
-    public void resetPauseState() {
-        isPausedByMemory = false;
+    private void dispatch() {
+        if (latest.copyTo(dispatched)) {
+            listener.accept(dispatched);
+        }
     }
 }
@@ -0,0 +1,102 @@
+package org.popcraft.chunkypause.memory;
+
+/**
+ * Mutable heap reading kept in raw bytes so it can be refilled on every sample without allocating.
+ * Writers and readers on different threads go through {@link #set} and {@link #copyTo}.
+ */
+public class MemorySnapshot {
+    private static final long MB = 1024 * 1024;
+
+    private long usedBytes;
+    private long committedBytes;
+    private long maxBytes;
+    private long totalAllocatedBytes;
+    private long sampledAtNanos;
+
+    /**
+     * Overwrite this snapshot with a new reading that has no allocation count
+     */
+    public void set(long usedBytes, long committedBytes, long maxBytes, long sampledAtNanos) {
+        set(usedBytes, committedBytes, maxBytes, 0, sampledAtNanos);
+    }
+
+    /**
+     * Overwrite this snapshot with a new reading
+     * @param totalAllocatedBytes estimated bytes allocated since monitoring started, 0 if unknown
+     */
+    public synchronized void set(long usedBytes, long committedBytes, long maxBytes, long totalAllocatedBytes, long sampledAtNanos) {
+        this.usedBytes = usedBytes;
+        this.committedBytes = committedBytes;
+        this.maxBytes = maxBytes;
+        this.totalAllocatedBytes = totalAllocatedBytes;
+        this.sampledAtNanos = sampledAtNanos;
+    }
+
+    /**
+     * Copy this reading into another snapshot
+     * @return false if nothing has been sampled yet
+     */
+    public synchronized boolean copyTo(MemorySnapshot target) {
+        if (sampledAtNanos == 0) {
+            return false;
+        }
+        target.set(usedBytes, committedBytes, maxBytes, totalAllocatedBytes, sampledAtNanos);
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return sampledAtNanos == 0;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getCommittedBytes() {
+        return committedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getTotalAllocatedBytes() {
+        return totalAllocatedBytes;
+    }
+
+    public long getSampledAtNanos() {
+        return sampledAtNanos;
+    }
+
+    public long getUsedMB() {
+        return usedBytes / MB;
+    }
+
+    public long getAllocatedMB() {
+        return committedBytes / MB;
+    }
+
+    public long getMaxMB() {
+        return maxBytes / MB;
+    }
+
+    public double getUsagePercent() {
+        return maxBytes > 0 ? (double) usedBytes / maxBytes : 0;
+    }
+
+    public double getAllocatedPercent() {
+        return maxBytes > 0 ? (double) committedBytes / maxBytes : 0;
+    }
+
+    /**
+     * Immutable copy for callers that keep the reading around
+     */
+    public MemoryInfo toMemoryInfo() {
+        return new MemoryInfo(getUsedMB(), getMaxMB(), getAllocatedMB(), getUsagePercent());
+    }
+
+    @Override
+    public String toString() {
+        return toMemoryInfo().toString();
+    }
+}
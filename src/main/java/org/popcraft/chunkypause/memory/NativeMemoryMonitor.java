@@ -0,0 +1,185 @@
+package org.popcraft.chunkypause.memory;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Polls memory the heap monitor cannot see: NIO buffer pools, metaspace, code cache, process RSS
+ * and the container's cgroup accounting.
+ * Sampling runs off the main thread; results are handed to the listener on the main thread.
+ */
+public class NativeMemoryMonitor {
+
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+    private static final NativeMemorySource[] SOURCES = NativeMemorySource.values();
+
+    private final JavaPlugin plugin;
+    private final MonitorLoop loop;
+    private final long interval;
+    private final Consumer<NativeMemoryMonitor> listener;
+
+    // Bytes per source, -1 while unavailable
+    private final AtomicLongArray usage = new AtomicLongArray(SOURCES.length);
+    private final List<BufferPoolMXBean> directPools = new ArrayList<>();
+    private final List<BufferPoolMXBean> mappedPools = new ArrayList<>();
+    private final List<MemoryPoolMXBean> metaspacePools = new ArrayList<>();
+    private final List<MemoryPoolMXBean> codeCachePools = new ArrayList<>();
+    private boolean rssAvailable;
+    private volatile CgroupMemoryReader cgroup;
+    private BukkitTask task;
+    private volatile MonitorLoop.Task dispatchTask;
+
+    public NativeMemoryMonitor(JavaPlugin plugin, MonitorLoop loop, long interval, Consumer<NativeMemoryMonitor> listener) {
+        this.plugin = plugin;
+        this.loop = loop;
+        this.interval = interval;
+        this.listener = listener;
+        for (int i = 0; i < SOURCES.length; i++) {
+            usage.set(i, -1);
+        }
+    }
+
+    /**
+     * Resolve the pools once and start polling
+     */
+    public void start() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                directPools.add(pool);
+            } else if (pool.getName().startsWith("mapped")) {
+                mappedPools.add(pool);
+            }
+        }
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.NON_HEAP) {
+                continue;
+            }
+            // Segmented code cache reports one "CodeHeap '...'" pool per segment
+            if (pool.getName().equals("Metaspace")) {
+                metaspacePools.add(pool);
+            } else if (pool.getName().equals("CodeCache") || pool.getName().startsWith("CodeHeap")) {
+                codeCachePools.add(pool);
+            }
+        }
+        rssAvailable = Files.isReadable(PROC_STATUS);
+        CgroupMemoryReader reader = CgroupMemoryReader.detect();
+        cgroup = reader != null && reader.read() ? reader : null;
+
+        dispatchTask = loop.schedule(MonitorLoop.Phase.SAMPLE, 0, this::dispatch);
+        task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::sample, 20L, interval);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (dispatchTask != null) {
+            dispatchTask.cancel();
+            dispatchTask = null;
+        }
+    }
+
+    private void sample() {
+        if (!directPools.isEmpty()) {
+            usage.set(NativeMemorySource.DIRECT_BUFFERS.ordinal(), sumBuffers(directPools));
+        }
+        if (!mappedPools.isEmpty()) {
+            usage.set(NativeMemorySource.MAPPED_BUFFERS.ordinal(), sumBuffers(mappedPools));
+        }
+        if (!metaspacePools.isEmpty()) {
+            usage.set(NativeMemorySource.METASPACE.ordinal(), sumPools(metaspacePools));
+        }
+        if (!codeCachePools.isEmpty()) {
+            usage.set(NativeMemorySource.CODE_CACHE.ordinal(), sumPools(codeCachePools));
+        }
+        if (rssAvailable) {
+            long rss = readRss();
+            rssAvailable = rss >= 0;
+            usage.set(NativeMemorySource.RSS.ordinal(), rss);
+        }
+        CgroupMemoryReader reader = cgroup;
+        if (reader != null && !reader.read()) {
+            cgroup = null;
+        }
+
+        // Samples finished before the main thread picks them up collapse into one dispatch
+        MonitorLoop.Task dispatcher = dispatchTask;
+        if (dispatcher != null) {
+            dispatcher.wake();
+        }
+    }
+
+    private void dispatch() {
+        listener.accept(this);
+    }
+
+    private static long sumBuffers(List<BufferPoolMXBean> pools) {
+        long total = 0;
+        for (BufferPoolMXBean pool : pools) {
+            total += Math.max(0, pool.getMemoryUsed());
+        }
+        return total;
+    }
+
+    private static long sumPools(List<MemoryPoolMXBean> pools) {
+        long total = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            total += pool.getUsage().getUsed();
+        }
+        return total;
+    }
+
+    /**
+     * Resident set size from /proc/self/status in bytes, or -1 if it cannot be read
+     */
+    private static long readRss() {
+        try (BufferedReader reader = Files.newBufferedReader(PROC_STATUS)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Format: "VmRSS:     123456 kB"
+                if (line.startsWith("VmRSS:")) {
+                    String value = line.substring(6).trim();
+                    int space = value.indexOf(' ');
+                    return Long.parseLong(space > 0 ? value.substring(0, space) : value) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux or not permitted
+        }
+        return -1;
+    }
+
+    /**
+     * Latest reading for a source in bytes, or -1 if it is not available on this JVM
+     */
+    public long getUsage(NativeMemorySource source) {
+        return usage.get(source.ordinal());
+    }
+
+    public boolean isAvailable(NativeMemorySource source) {
+        return usage.get(source.ordinal()) >= 0;
+    }
+
+    /**
+     * Container memory accounting, or null when not running under a readable memory cgroup
+     */
+    public CgroupMemoryReader getCgroup() {
+        return cgroup;
+    }
+}
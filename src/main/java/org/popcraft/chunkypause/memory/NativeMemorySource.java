@@ -0,0 +1,31 @@
+package org.popcraft.chunkypause.memory;
+
+/**
+ * Memory outside the Java heap that can grow during generation
+ */
+public enum NativeMemorySource {
+    DIRECT_BUFFERS("direct buffers", "direct-buffer-threshold-mb"),
+    MAPPED_BUFFERS("mapped buffers", "mapped-buffer-threshold-mb"),
+    METASPACE("metaspace", "metaspace-threshold-mb"),
+    CODE_CACHE("code cache", "code-cache-threshold-mb"),
+    RSS("process RSS", "rss-threshold-mb");
+
+    private final String displayName;
+    private final String configKey;
+
+    NativeMemorySource(String displayName, String configKey) {
+        this.displayName = displayName;
+        this.configKey = configKey;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Config key holding this source's threshold in MB (0 disables it)
+     */
+    public String getConfigKey() {
+        return configKey;
+    }
+}
@@ -0,0 +1,30 @@
+package org.popcraft.chunkypause.memory;
+
+/**
+ * Returns free C heap memory to the OS through System.trim_native_heap (glibc malloc_trim).
+ * Does not touch the Java heap and causes no GC pause; lowers RSS after native buffers are freed.
+ */
+public class TrimNativeHeapAction implements GcAction {
+
+    private final DiagnosticCommand diagnostics;
+
+    public TrimNativeHeapAction(DiagnosticCommand diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public String getName() {
+        return "trim-native";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return diagnostics.hasCommand("systemTrimNativeHeap");
+    }
+
+    @Override
+    public boolean run() throws Exception {
+        diagnostics.invoke("systemTrimNativeHeap");
+        return true;
+    }
+}
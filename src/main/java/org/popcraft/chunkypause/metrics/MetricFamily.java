@@ -0,0 +1,128 @@
+package org.popcraft.chunkypause.metrics;
+
+import org.popcraft.chunkypause.util.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One metric and its samples, captured at a point in time and rendered later in OpenMetrics text format.
+ * Built on the main thread, then only read, so rendering can happen on any thread.
+ */
+public class MetricFamily {
+
+    private final String name;
+    private final String type;
+    private final String help;
+    private final List<Sample> samples = new ArrayList<>();
+
+    private static class Sample {
+        private final String suffix;
+        private final String[] labels;
+        private final double value;
+
+        private Sample(String suffix, String[] labels, double value) {
+            this.suffix = suffix;
+            this.labels = labels;
+            this.value = value;
+        }
+    }
+
+    private MetricFamily(String name, String type, String help) {
+        this.name = name;
+        this.type = type;
+        this.help = help;
+    }
+
+    public static MetricFamily gauge(String name, String help) {
+        return new MetricFamily(name, "gauge", help);
+    }
+
+    public static MetricFamily counter(String name, String help) {
+        return new MetricFamily(name, "counter", help);
+    }
+
+    public static MetricFamily histogram(String name, String help) {
+        return new MetricFamily(name, "histogram", help);
+    }
+
+    /**
+     * Add a sample; labels are name/value pairs
+     */
+    public MetricFamily add(double value, String... labels) {
+        samples.add(new Sample(type.equals("counter") ? "_total" : "", labels, value));
+        return this;
+    }
+
+    /**
+     * Add a histogram recorded in milliseconds or megabytes, converted to the family's base unit
+     * @param scale factor from the recorded unit to the base unit, e.g. 0.001 for milliseconds to seconds
+     */
+    public MetricFamily add(Histogram histogram, double scale, String... labels) {
+        long[] bounds = histogram.getBounds();
+        long[] counts = histogram.getCounts();
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += counts[i];
+            samples.add(new Sample("_bucket", withLabel(labels, "le", Double.toString(bounds[i] * scale)), cumulative));
+        }
+        samples.add(new Sample("_bucket", withLabel(labels, "le", "+Inf"), histogram.getCount()));
+        samples.add(new Sample("_count", labels, histogram.getCount()));
+        samples.add(new Sample("_sum", labels, histogram.getSum() * scale));
+        return this;
+    }
+
+    private static String[] withLabel(String[] labels, String name, String value) {
+        String[] extended = new String[labels.length + 2];
+        System.arraycopy(labels, 0, extended, 0, labels.length);
+        extended[labels.length] = name;
+        extended[labels.length + 1] = value;
+        return extended;
+    }
+
+    private void render(StringBuilder builder, Sample sample) {
+        String[] labels = sample.labels;
+        double value = sample.value;
+        builder.append(name).append(sample.suffix);
+        if (labels.length > 0) {
+            builder.append('{');
+            for (int i = 0; i + 1 < labels.length; i += 2) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(labels[i]).append("=\"");
+                escape(builder, labels[i + 1]);
+                builder.append('"');
+            }
+            builder.append('}');
+        }
+        builder.append(' ');
+        if (value == (long) value) {
+            builder.append((long) value);
+        } else {
+            builder.append(value);
+        }
+        builder.append('\n');
+    }
+
+    private static void escape(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                builder.append('\\').append(c);
+            } else if (c == '\n') {
+                builder.append("\\n");
+            } else {
+                builder.append(c);
+            }
+        }
+    }
+
+    void render(StringBuilder builder) {
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        for (Sample sample : samples) {
+            render(builder, sample);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.popcraft.chunkypause.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Serves metrics in OpenMetrics text format for Prometheus over an embedded HTTP endpoint.
+ * Plugin state is captured on the main thread on a fixed interval; scrapes are answered on the
+ * exporter's own thread from the latest capture and never wait for or run on the main thread.
+ */
+public class MetricsExporter {
+
+    private static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private final MonitorLoop loop;
+    private final String host;
+    private final int port;
+    private final long interval;
+    private final Supplier<List<MetricFamily>> collector;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private volatile List<MetricFamily> latest = List.of();
+    private HttpServer server;
+    private ExecutorService executor;
+    private MonitorLoop.Task task;
+
+    /**
+     * @param collector called on the main thread to capture plugin state
+     */
+    public MetricsExporter(MonitorLoop loop, String host, int port, long interval, Supplier<List<MetricFamily>> collector) {
+        this.loop = loop;
+        this.host = host;
+        this.port = port;
+        this.interval = interval;
+        this.collector = collector;
+    }
+
+    /**
+     * Bind the endpoint and start capturing
+     * @throws IOException if the address cannot be bound
+     */
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ChunkyPause-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+
+        latest = collector.get();
+        task = loop.schedule(MonitorLoop.Phase.DISPATCH, interval, () -> latest = collector.get());
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET") && !exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private String render() {
+        StringBuilder builder = new StringBuilder(8192);
+        // The memory MXBean is safe to read from any thread, so these are current as of the scrape
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+        MetricFamily.gauge("chunkypause_jvm_memory_used_bytes", "Memory in use by the JVM.")
+            .add(heap.getUsed(), "area", "heap")
+            .add(nonHeap.getUsed(), "area", "nonheap")
+            .render(builder);
+        MetricFamily.gauge("chunkypause_jvm_memory_committed_bytes", "Memory committed by the JVM.")
+            .add(heap.getCommitted(), "area", "heap")
+            .add(nonHeap.getCommitted(), "area", "nonheap")
+            .render(builder);
+        MetricFamily.gauge("chunkypause_jvm_memory_max_bytes", "Maximum heap size.")
+            .add(heap.getMax(), "area", "heap")
+            .render(builder);
+        for (MetricFamily family : latest) {
+            family.render(builder);
+        }
+        builder.append("# EOF\n");
+        return builder.toString();
+    }
+}
@@ -0,0 +1,154 @@
+package org.popcraft.chunkypause.metrics;
+
+import org.bukkit.Bukkit;
+import org.popcraft.chunkypause.ChunkyPause;
+import org.popcraft.chunkypause.memory.GcCostStats;
+import org.popcraft.chunkypause.pause.PauseReason;
+import org.popcraft.chunkypause.pause.PauseStateMachine;
+import org.popcraft.chunkypause.pause.PolicyEngine;
+import org.popcraft.chunkypause.pause.WorldPauseState;
+import org.popcraft.chunkypause.tick.TickSampler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Captures the plugin's pause state, transition counters, cleanup costs and generation throughput
+ * as metric families. Main thread only; everything read here is already aggregated.
+ */
+public class PluginMetrics implements Supplier<List<MetricFamily>> {
+
+    private static final PauseReason[] REASONS = PauseReason.values();
+    private static final WorldThroughput.State[] STATES = WorldThroughput.State.values();
+    private static final double MILLIS = 0.001;
+    private static final double MEGABYTES = 1024 * 1024;
+
+    private final ChunkyPause plugin;
+
+    public PluginMetrics(ChunkyPause plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public List<MetricFamily> get() {
+        List<MetricFamily> families = new ArrayList<>();
+        families.add(MetricFamily.gauge("chunkypause_players", "Players online.")
+            .add(Bukkit.getOnlinePlayers().size()));
+        families.add(MetricFamily.gauge("chunkypause_max_players", "Configured player limit.")
+            .add(plugin.getMaxPlayers()));
+
+        TickSampler tickSampler = plugin.getTickSampler();
+        if (tickSampler != null && tickSampler.isWarm()) {
+            families.add(MetricFamily.gauge("chunkypause_tick_duration_seconds", "Tick duration over the sampling window.")
+                .add(tickSampler.getAverageMspt() * MILLIS, "stat", "avg")
+                .add(tickSampler.getPercentileMspt(0.95) * MILLIS, "stat", "p95"));
+        }
+
+        addPauseState(families);
+        addCleanups(families);
+        addThroughput(families);
+        return families;
+    }
+
+    private void addPauseState(List<MetricFamily> families) {
+        PauseStateMachine pauseState = plugin.getPauseState();
+        PolicyEngine policyEngine = plugin.getPolicyEngine();
+        if (pauseState == null || policyEngine == null) {
+            return;
+        }
+
+        MetricFamily paused = MetricFamily.gauge("chunkypause_paused", "Whether a reason currently pauses every world.");
+        MetricFamily transitions = MetricFamily.counter("chunkypause_pause_transitions",
+            "Times a reason was set on or cleared from a world.");
+        MetricFamily suppressed = MetricFamily.counter("chunkypause_suppressed_transitions",
+            "Changes a reason asked for and withdrew before they were applied.");
+        for (PauseReason reason : REASONS) {
+            String key = reason.getConfigKey();
+            paused.add(pauseState.isPaused(reason) ? 1 : 0, "reason", key);
+            transitions.add(pauseState.getTransitionCount(reason, true), "reason", key, "direction", "pause");
+            transitions.add(pauseState.getTransitionCount(reason, false), "reason", key, "direction", "resume");
+            suppressed.add(policyEngine.getSuppressed(reason), "reason", key);
+        }
+        families.add(paused);
+        families.add(transitions);
+        families.add(suppressed);
+
+        MetricFamily worldPaused = MetricFamily.gauge("chunkypause_world_paused", "Whether this plugin holds a world's task paused.");
+        MetricFamily worldReasons = MetricFamily.gauge("chunkypause_world_reason", "Reasons currently set on a world.");
+        for (WorldPauseState state : pauseState.getWorlds()) {
+            worldPaused.add(state.isPaused() ? 1 : 0, "world", state.getWorld());
+            for (PauseReason reason : REASONS) {
+                if (state.hasReason(reason)) {
+                    worldReasons.add(1, "world", state.getWorld(), "reason", reason.getConfigKey());
+                }
+            }
+        }
+        families.add(worldPaused);
+        families.add(worldReasons);
+    }
+
+    private void addCleanups(List<MetricFamily> families) {
+        MetricFamily runs = MetricFamily.counter("chunkypause_gc_cleanups", "Cleanups the plugin triggered.");
+        MetricFamily stopTheWorld = MetricFamily.histogram("chunkypause_gc_stop_the_world_seconds",
+            "Collector pause time induced per cleanup.");
+        MetricFamily overrun = MetricFamily.histogram("chunkypause_gc_tick_overrun_seconds",
+            "Tick time beyond 50ms lost while each cleanup ran.");
+        MetricFamily reclaimed = MetricFamily.histogram("chunkypause_gc_reclaimed_bytes", "Used heap freed per cleanup.");
+        for (GcCostStats stats : plugin.getMemoryManager().getCostTracker().getStats()) {
+            runs.add(stats.getRuns(), "reason", stats.getReason());
+            stopTheWorld.add(stats.getStopTheWorld(), MILLIS, "reason", stats.getReason());
+            overrun.add(stats.getTickOverrun(), MILLIS, "reason", stats.getReason());
+            reclaimed.add(stats.getReclaimed(), MEGABYTES, "reason", stats.getReason());
+        }
+        families.add(runs);
+        families.add(stopTheWorld);
+        families.add(overrun);
+        families.add(reclaimed);
+    }
+
+    private void addThroughput(List<MetricFamily> families) {
+        ThroughputTracker tracker = plugin.getThroughputTracker();
+        if (tracker == null) {
+            return;
+        }
+
+        MetricFamily chunks = MetricFamily.gauge("chunkypause_generation_chunks", "Chunks Chunky has processed in the current task.");
+        MetricFamily progress = MetricFamily.gauge("chunkypause_generation_progress_ratio", "Completion of the current task.");
+        MetricFamily rate = MetricFamily.gauge("chunkypause_generation_chunks_per_second",
+            "Chunks per second while running, over the last minute.");
+        MetricFamily eta = MetricFamily.gauge("chunkypause_generation_eta_seconds",
+            "Projected time to completion at the recent rate and pause pattern.");
+        MetricFamily time = MetricFamily.counter("chunkypause_generation_time_seconds", "Time a task spent in each state.");
+        MetricFamily pausedTime = MetricFamily.counter("chunkypause_generation_paused_seconds",
+            "Time a task was held paused while a reason was set.");
+        for (WorldThroughput throughput : tracker.getWorlds()) {
+            String world = throughput.getWorld();
+            chunks.add(throughput.getChunks(), "world", world);
+            progress.add(throughput.getProgress() / 100.0, "world", world);
+            rate.add(throughput.getChunksPerSecond(WorldThroughput.RATE_WINDOW_MS), "world", world);
+            double seconds = throughput.getEtaSeconds(WorldThroughput.ETA_WINDOW_MS);
+            if (seconds >= 0) {
+                eta.add(seconds, "world", world);
+            }
+            for (WorldThroughput.State state : STATES) {
+                long ms = state == WorldThroughput.State.RUNNING ? throughput.getRunningMs()
+                    : state == WorldThroughput.State.PAUSED ? throughput.getPausedMs() : throughput.getIdleMs();
+                time.add(ms * MILLIS, "world", world, "state", state.name().toLowerCase(Locale.ROOT));
+            }
+            for (PauseReason reason : REASONS) {
+                long ms = throughput.getPausedMs(reason);
+                if (ms > 0) {
+                    pausedTime.add(ms * MILLIS, "world", world, "reason", reason.getConfigKey());
+                }
+            }
+        }
+        families.add(chunks);
+        families.add(progress);
+        families.add(rate);
+        families.add(eta);
+        families.add(time);
+        families.add(pausedTime);
+    }
+}
@@ -0,0 +1,133 @@
+package org.popcraft.chunkypause.metrics;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.popcraft.chunky.api.event.task.GenerationProgressEvent;
+import org.popcraft.chunkypause.pause.PauseStateMachine;
+import org.popcraft.chunkypause.pause.WorldPauseState;
+import org.popcraft.chunkypause.task.TaskRegistry;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+
+/**
+ * Samples the progress Chunky last reported for each world on a fixed interval, so throughput,
+ * time lost to pauses and a completion estimate can be derived. Samples are taken after the loop's
+ * decision pass, so a tick's pause changes are already reflected. Main thread only.
+ */
+public class ThroughputTracker {
+
+    private final JavaPlugin plugin;
+    private final MonitorLoop loop;
+    private final TaskRegistry tasks;
+    private final PauseStateMachine pauseState;
+    private final long interval;
+    private final int capacity;
+    private final Map<String, WorldThroughput> worlds = new LinkedHashMap<>();
+    private MonitorLoop.Task task;
+
+    public ThroughputTracker(JavaPlugin plugin, MonitorLoop loop, TaskRegistry tasks, PauseStateMachine pauseState, long interval, int capacity) {
+        this.plugin = plugin;
+        this.loop = loop;
+        this.tasks = tasks;
+        this.pauseState = pauseState;
+        this.interval = interval;
+        this.capacity = capacity;
+    }
+
+    public void start() {
+        task = loop.schedule(MonitorLoop.Phase.DISPATCH, interval, this::sample);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void sample() {
+        long now = System.currentTimeMillis();
+        for (String world : tasks.getRunningWorlds()) {
+            record(world, now);
+        }
+        for (WorldPauseState state : pauseState.getWorlds()) {
+            if (!tasks.isRunning(state.getWorld())) {
+                record(state.getWorld(), now);
+            }
+        }
+        // Tasks that completed or were cancelled no longer report progress
+        worlds.keySet().removeIf(world -> tasks.getProgress(world) == null);
+    }
+
+    private void record(String world, long now) {
+        GenerationProgressEvent progress = tasks.getProgress(world);
+        if (progress == null) {
+            return;
+        }
+        WorldPauseState state = pauseState.getWorld(world);
+        WorldThroughput.State taskState;
+        if (tasks.isRunning(world)) {
+            taskState = WorldThroughput.State.RUNNING;
+        } else if (state != null && state.isPaused()) {
+            taskState = WorldThroughput.State.PAUSED;
+        } else {
+            taskState = WorldThroughput.State.IDLE;
+        }
+        worlds.computeIfAbsent(world, name -> new WorldThroughput(name, capacity))
+            .record(now, progress.chunks(), progress.progress(), taskState, state != null ? state.getReasons() : 0);
+    }
+
+    public WorldThroughput getWorld(String world) {
+        return worlds.get(world);
+    }
+
+    public Collection<WorldThroughput> getWorlds() {
+        return Collections.unmodifiableCollection(worlds.values());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Write every kept sample to a CSV file; samples are copied here and written off the main thread
+     * @param done called on the main thread with the number of rows written, or -1 on failure
+     */
+    public void export(Path file, IntConsumer done) {
+        StringBuilder builder = new StringBuilder("world,timestamp,chunks,progress,state,reasons\n");
+        int rows = 0;
+        for (WorldThroughput throughput : worlds.values()) {
+            throughput.appendCsv(builder);
+            rows += throughput.size();
+        }
+        String csv = builder.toString();
+        int written = rows;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            int result = written;
+            try {
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, csv);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to export throughput to " + file, e);
+                result = -1;
+            }
+            int finalResult = result;
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> done.accept(finalResult));
+            }
+        });
+    }
+}
@@ -0,0 +1,250 @@
+package org.popcraft.chunkypause.metrics;
+
+import org.popcraft.chunkypause.pause.PauseReason;
+
+import java.util.Locale;
+
+/**
+ * Progress of one world's Chunky task over time, kept in a fixed ring of samples, plus how long
+ * the task ran and how long it was held paused for each reason.
+ * Each interval is attributed to the state seen at its start. Main thread only.
+ */
+public class WorldThroughput {
+
+    /**
+     * What a world's task was doing since the previous sample
+     */
+    public enum State {
+        RUNNING,
+        // Held paused by this plugin
+        PAUSED,
+        // Neither running nor held by us, e.g. paused with /chunky pause
+        IDLE
+    }
+
+    // Window for the recent rate, and the longer one the ETA projects from
+    public static final long RATE_WINDOW_MS = 60_000L;
+    public static final long ETA_WINDOW_MS = 300_000L;
+
+    private static final PauseReason[] REASONS = PauseReason.values();
+    private static final State[] STATES = State.values();
+
+    private final String world;
+    private final long[] times;
+    private final long[] chunks;
+    private final float[] progress;
+    private final byte[] states;
+    private final int[] reasons;
+    private int head = 0;
+    private int count = 0;
+
+    private long runningMs = 0;
+    private long pausedMs = 0;
+    private long idleMs = 0;
+    private long generated = 0;
+    private final long[] pausedByReason = new long[REASONS.length];
+
+    public WorldThroughput(String world, int capacity) {
+        int size = Math.max(2, capacity);
+        this.world = world;
+        this.times = new long[size];
+        this.chunks = new long[size];
+        this.progress = new float[size];
+        this.states = new byte[size];
+        this.reasons = new int[size];
+    }
+
+    /**
+     * Append a sample and account the time since the previous one
+     * @param reasons effective pause reasons of the world, only used while paused
+     */
+    public void record(long now, long chunkCount, float percent, State state, int reasons) {
+        if (count > 0) {
+            int last = newest();
+            long elapsed = Math.max(0, now - times[last]);
+            switch (STATES[states[last]]) {
+                case RUNNING:
+                    runningMs += elapsed;
+                    break;
+                case PAUSED:
+                    pausedMs += elapsed;
+                    for (PauseReason reason : REASONS) {
+                        if (reason.isSet(this.reasons[last])) {
+                            pausedByReason[reason.ordinal()] += elapsed;
+                        }
+                    }
+                    break;
+                default:
+                    idleMs += elapsed;
+                    break;
+            }
+            // A restarted task counts from zero again
+            generated += Math.max(0, chunkCount - chunks[last]);
+        }
+
+        times[head] = now;
+        chunks[head] = chunkCount;
+        progress[head] = percent;
+        states[head] = (byte) state.ordinal();
+        this.reasons[head] = state == State.PAUSED ? reasons : 0;
+        head = (head + 1) % times.length;
+        if (count < times.length) {
+            count++;
+        }
+    }
+
+    private int newest() {
+        return (head - 1 + times.length) % times.length;
+    }
+
+    private int index(int i) {
+        // i = 0 is the oldest sample
+        return (head - count + i + times.length) % times.length;
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Chunks per second while running, over running intervals in the last window.
+     * Falls back to the rate since tracking started if the task did not run in the window.
+     */
+    public double getChunksPerSecond(long windowMs) {
+        if (count < 2) {
+            return 0;
+        }
+        long cutoff = times[newest()] - windowMs;
+        long chunkSum = 0;
+        long ranMs = 0;
+        for (int i = count - 1; i > 0; i--) {
+            int current = index(i);
+            int previous = index(i - 1);
+            if (times[previous] < cutoff) {
+                break;
+            }
+            if (states[previous] == State.RUNNING.ordinal()) {
+                chunkSum += Math.max(0, chunks[current] - chunks[previous]);
+                ranMs += times[current] - times[previous];
+            }
+        }
+        if (ranMs > 0) {
+            return chunkSum * 1000.0 / ranMs;
+        }
+        return runningMs > 0 ? generated * 1000.0 / runningMs : 0;
+    }
+
+    /**
+     * Share of the kept history the task ran rather than being held paused, 0.0 - 1.0.
+     * Idle time is left out since it does not reflect the pause pattern.
+     */
+    public double getRunningShare() {
+        long ran = 0;
+        long held = 0;
+        for (int i = 0; i < count - 1; i++) {
+            int current = index(i);
+            long elapsed = times[index(i + 1)] - times[current];
+            if (states[current] == State.RUNNING.ordinal()) {
+                ran += elapsed;
+            } else if (states[current] == State.PAUSED.ordinal()) {
+                held += elapsed;
+            }
+        }
+        return ran + held > 0 ? (double) ran / (ran + held) : 1.0;
+    }
+
+    /**
+     * Chunks still to generate, estimated from the latest count and percentage, or -1 if unknown
+     */
+    public long getRemainingChunks() {
+        if (count == 0) {
+            return -1;
+        }
+        int last = newest();
+        if (progress[last] <= 0) {
+            return -1;
+        }
+        long total = Math.round(chunks[last] * 100.0 / progress[last]);
+        return Math.max(0, total - chunks[last]);
+    }
+
+    /**
+     * Seconds until completion if recent throughput and the recent pause pattern hold, or -1 if unknown
+     */
+    public double getEtaSeconds(long rateWindowMs) {
+        long remaining = getRemainingChunks();
+        double effectiveRate = getChunksPerSecond(rateWindowMs) * getRunningShare();
+        if (remaining < 0 || effectiveRate <= 0) {
+            return -1;
+        }
+        return remaining / effectiveRate;
+    }
+
+    public long getChunks() {
+        return count > 0 ? chunks[newest()] : 0;
+    }
+
+    /**
+     * Latest completion percentage, 0 - 100
+     */
+    public float getProgress() {
+        return count > 0 ? progress[newest()] : 0;
+    }
+
+    public State getState() {
+        return count > 0 ? STATES[states[newest()]] : State.IDLE;
+    }
+
+    /**
+     * Chunks generated since tracking started
+     */
+    public long getGenerated() {
+        return generated;
+    }
+
+    public long getRunningMs() {
+        return runningMs;
+    }
+
+    public long getPausedMs() {
+        return pausedMs;
+    }
+
+    public long getIdleMs() {
+        return idleMs;
+    }
+
+    /**
+     * Time held paused while this reason was set; reasons overlap, so these may add up to more than {@link #getPausedMs()}
+     */
+    public long getPausedMs(PauseReason reason) {
+        return pausedByReason[reason.ordinal()];
+    }
+
+    /**
+     * Append the kept samples as CSV rows: world,timestamp,chunks,progress,state,reasons.
+     * Reasons are config keys separated by semicolons.
+     */
+    public void appendCsv(StringBuilder builder) {
+        for (int i = 0; i < count; i++) {
+            int slot = index(i);
+            builder.append(world).append(',')
+                .append(times[slot]).append(',')
+                .append(chunks[slot]).append(',')
+                .append(progress[slot]).append(',')
+                .append(STATES[states[slot]].name().toLowerCase(Locale.ROOT)).append(',');
+            String separator = "";
+            for (PauseReason reason : REASONS) {
+                if (reason.isSet(reasons[slot])) {
+                    builder.append(separator).append(reason.getConfigKey());
+                    separator = ";";
+                }
+            }
+            builder.append('\n');
+        }
+    }
+}
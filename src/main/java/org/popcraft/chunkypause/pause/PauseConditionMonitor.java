@@ -0,0 +1,164 @@
+package org.popcraft.chunkypause.pause;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.ServiceEvent;
+import org.bukkit.event.server.ServiceRegisterEvent;
+import org.bukkit.event.server.ServiceUnregisterEvent;
+import org.bukkit.plugin.RegisteredServiceProvider;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.popcraft.chunkypause.api.PauseCondition;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates the {@link PauseCondition}s other plugins register and combines them into one severity.
+ * Registrations are cached and only looked up again when a condition is registered or unregistered.
+ * Main thread only.
+ */
+public class PauseConditionMonitor implements Listener {
+
+    private static final long INTERVAL_TICKS = 20L;
+
+    private final JavaPlugin plugin;
+    private final MonitorLoop loop;
+    private final Consumer<PauseConditionMonitor> listener;
+    private final List<ConditionState> conditions = new ArrayList<>();
+    private ConditionState top;
+    private MonitorLoop.Task task;
+
+    /**
+     * Last evaluation of a single registered condition
+     */
+    public static class ConditionState {
+        private final PauseCondition condition;
+        private final String pluginName;
+        private double severity = 0;
+        private boolean failed = false;
+
+        private ConditionState(PauseCondition condition, String pluginName) {
+            this.condition = condition;
+            this.pluginName = pluginName;
+        }
+
+        public String getName() {
+            return condition.getName();
+        }
+
+        /**
+         * Name of the plugin that registered the condition
+         */
+        public String getPluginName() {
+            return pluginName;
+        }
+
+        public double getSeverity() {
+            return severity;
+        }
+
+        /**
+         * Check if the condition threw and is being ignored
+         */
+        public boolean isFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return getName() + " (" + pluginName + ")";
+        }
+    }
+
+    public PauseConditionMonitor(JavaPlugin plugin, MonitorLoop loop, Consumer<PauseConditionMonitor> listener) {
+        this.plugin = plugin;
+        this.loop = loop;
+        this.listener = listener;
+    }
+
+    public void start() {
+        refresh();
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        task = loop.schedule(MonitorLoop.Phase.SAMPLE, INTERVAL_TICKS, this::evaluate);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        conditions.clear();
+        top = null;
+    }
+
+    @EventHandler
+    public void onServiceRegister(ServiceRegisterEvent event) {
+        onServiceChange(event);
+    }
+
+    @EventHandler
+    public void onServiceUnregister(ServiceUnregisterEvent event) {
+        onServiceChange(event);
+    }
+
+    private void onServiceChange(ServiceEvent event) {
+        if (task != null && event.getProvider().getService() == PauseCondition.class) {
+            refresh();
+        }
+    }
+
+    private void refresh() {
+        conditions.clear();
+        top = null;
+        for (RegisteredServiceProvider<PauseCondition> registration :
+                Bukkit.getServicesManager().getRegistrations(PauseCondition.class)) {
+            conditions.add(new ConditionState(registration.getProvider(), registration.getPlugin().getName()));
+        }
+    }
+
+    private void evaluate() {
+        top = null;
+        for (ConditionState state : conditions) {
+            if (state.failed) {
+                continue;
+            }
+            try {
+                double severity = state.condition.getSeverity();
+                // NaN counts as no load
+                state.severity = severity > 0 ? Math.min(1, severity) : 0;
+            } catch (RuntimeException e) {
+                // A broken condition must not take pause decisions down with it
+                state.failed = true;
+                state.severity = 0;
+                plugin.getLogger().warning("Pause condition " + state + " failed and will be ignored: " + e);
+                continue;
+            }
+            if (top == null || state.severity > top.severity) {
+                top = state;
+            }
+        }
+        listener.accept(this);
+    }
+
+    /**
+     * Highest severity across all conditions in the last evaluation
+     */
+    public double getSeverity() {
+        return top != null ? top.severity : 0;
+    }
+
+    /**
+     * Condition that reported the highest severity, or null if none are registered
+     */
+    public ConditionState getTop() {
+        return top;
+    }
+
+    public List<ConditionState> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+}
@@ -0,0 +1,113 @@
+package org.popcraft.chunkypause.pause;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * How eagerly a single signal may pause and resume generation.
+ * Debounce windows require a signal to hold its new value for a while before it takes effect;
+ * dwell times keep a state for a minimum time once entered.
+ */
+public class PausePolicy {
+
+    private final double band;
+    private final long pauseAfterMs;
+    private final long resumeAfterMs;
+    private final long minPausedMs;
+    private final long minRunningMs;
+
+    public PausePolicy(double band, long pauseAfterMs, long resumeAfterMs, long minPausedMs, long minRunningMs) {
+        this.band = band;
+        this.pauseAfterMs = pauseAfterMs;
+        this.resumeAfterMs = resumeAfterMs;
+        this.minPausedMs = minPausedMs;
+        this.minRunningMs = minRunningMs;
+    }
+
+    /**
+     * Built-in policy for a reason, used for keys missing from the config
+     */
+    public static PausePolicy getDefault(PauseReason reason) {
+        switch (reason) {
+            case PLAYERS:
+                // Players hopping on and off should not restart generation every time
+                return new PausePolicy(0, 0, 30000, 0, 0);
+            case MEMORY:
+                return new PausePolicy(0.05, 0, 0, 5000, 0);
+            case TICK_TIME:
+                return new PausePolicy(0, 0, 0, 5000, 0);
+            case NATIVE_MEMORY:
+            case CONTAINER_MEMORY:
+                return new PausePolicy(0.05, 0, 0, 0, 0);
+            case EXTERNAL:
+                return new PausePolicy(0.1, 0, 5000, 0, 0);
+            case DISK_IO:
+                // Autosave flushes are short bursts; only sustained pressure should pause
+                return new PausePolicy(0.2, 10000, 10000, 10000, 0);
+            case CPU:
+                return new PausePolicy(0.1, 5000, 10000, 10000, 0);
+            default:
+                return new PausePolicy(0, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Read a policy section, with times in seconds
+     * @param section the section, or null to use the defaults
+     */
+    public static PausePolicy load(ConfigurationSection section, PausePolicy defaults) {
+        if (section == null) {
+            return defaults;
+        }
+        return new PausePolicy(
+            Math.max(0, section.getDouble("band", defaults.band)),
+            seconds(section, "pause-after", defaults.pauseAfterMs),
+            seconds(section, "resume-after", defaults.resumeAfterMs),
+            seconds(section, "min-paused", defaults.minPausedMs),
+            seconds(section, "min-running", defaults.minRunningMs));
+    }
+
+    private static long seconds(ConfigurationSection section, String key, long defaultMs) {
+        return Math.max(0, (long) (section.getDouble(key, defaultMs / 1000.0) * 1000));
+    }
+
+    /**
+     * Hysteresis band: how far below its pause level a signal must fall before it may resume
+     */
+    public double getBand() {
+        return band;
+    }
+
+    /**
+     * How long a signal must keep asking to pause before it does
+     */
+    public long getPauseAfterMs() {
+        return pauseAfterMs;
+    }
+
+    /**
+     * How long a signal must keep asking to resume before it does
+     */
+    public long getResumeAfterMs() {
+        return resumeAfterMs;
+    }
+
+    /**
+     * Minimum time to stay paused once this signal paused generation
+     */
+    public long getMinPausedMs() {
+        return minPausedMs;
+    }
+
+    /**
+     * Minimum time after this signal resumed generation before it may pause again
+     */
+    public long getMinRunningMs() {
+        return minRunningMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("band %.2f, pause after %.1fs, resume after %.1fs, min paused %.1fs, min running %.1fs",
+            band, pauseAfterMs / 1000.0, resumeAfterMs / 1000.0, minPausedMs / 1000.0, minRunningMs / 1000.0);
+    }
+}
@@ -0,0 +1,67 @@
+package org.popcraft.chunkypause.pause;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Conditions that can hold a world's Chunky task paused.
+ * Each reason is one bit so a world's reasons fit in a single int.
+ */
+public enum PauseReason {
+    FORCED("force paused"),
+    PLAYERS("player count"),
+    MEMORY("memory"),
+    TICK_TIME("tick time"),
+    DUTY_CYCLE("duty cycle"),
+    NATIVE_MEMORY("native memory"),
+    CONTAINER_MEMORY("container memory"),
+    EXTERNAL("external condition"),
+    DISK_IO("disk I/O"),
+    CPU("CPU starvation");
+
+    private final String displayName;
+    private final int bit;
+
+    PauseReason(String displayName) {
+        this.displayName = displayName;
+        this.bit = 1 << ordinal();
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Key of this reason's section under pause-policy in config.yml
+     */
+    public String getConfigKey() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    /**
+     * Check if this reason is set in a bitset
+     */
+    public boolean isSet(int reasons) {
+        return (reasons & bit) != 0;
+    }
+
+    /**
+     * Human readable list of the reasons in a bitset
+     */
+    public static String describe(int reasons) {
+        if (reasons == 0) {
+            return "none";
+        }
+        StringJoiner joiner = new StringJoiner(", ");
+        for (PauseReason reason : values()) {
+            if (reason.isSet(reasons)) {
+                joiner.add(reason.displayName);
+            }
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,214 @@
+package org.popcraft.chunkypause.pause;
+
+import org.popcraft.chunky.api.ChunkyAPI;
+import org.popcraft.chunkypause.jfr.PauseTransitionEvent;
+import org.popcraft.chunkypause.task.TaskRegistry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tracks pause reasons per world and only talks to Chunky when a world
+ * actually moves between running and paused.
+ * A world is paused while it has at least one reason (its own or a world-wide one)
+ * and resumed when the last one clears.
+ * Only worlds with a known task are touched, so work scales with active tasks, not loaded worlds.
+ */
+public class PauseStateMachine {
+
+    private final ChunkyAPI chunky;
+    private final TaskRegistry tasks;
+    private final Map<String, WorldPauseState> worlds = new LinkedHashMap<>();
+    private int globalReasons = 0;
+    // Per-world reason changes, indexed by reason ordinal
+    private final long[] pausedCounts = new long[PauseReason.values().length];
+    private final long[] resumedCounts = new long[PauseReason.values().length];
+
+    public PauseStateMachine(ChunkyAPI chunky, TaskRegistry tasks) {
+        this.chunky = chunky;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Apply a reason to every world
+     * @return number of worlds whose task was paused as a result
+     */
+    public int pauseAll(PauseReason reason) {
+        if (reason.isSet(globalReasons)) {
+            return 0;
+        }
+        globalReasons |= reason.getBit();
+        for (String world : tasks.getRunningWorlds()) {
+            getOrCreate(world);
+        }
+        return refreshAll(reason);
+    }
+
+    /**
+     * Clear a world-wide reason
+     * @return number of worlds whose task was resumed as a result
+     */
+    public int resumeAll(PauseReason reason) {
+        if (!reason.isSet(globalReasons)) {
+            return 0;
+        }
+        globalReasons &= ~reason.getBit();
+        return refreshAll(reason);
+    }
+
+    /**
+     * Apply a reason to a single world
+     * @return true if the world's task was paused as a result
+     */
+    public boolean pause(String world, PauseReason reason) {
+        WorldPauseState state = getOrCreate(world);
+        if (state.hasLocalReason(reason)) {
+            return false;
+        }
+        state.setLocalReasons(state.getLocalReasons() | reason.getBit());
+        return refresh(state, reason);
+    }
+
+    /**
+     * Clear a reason from a single world
+     * @return true if the world's task was resumed as a result
+     */
+    public boolean resume(String world, PauseReason reason) {
+        WorldPauseState state = worlds.get(world);
+        if (state == null || !state.hasLocalReason(reason)) {
+            return false;
+        }
+        state.setLocalReasons(state.getLocalReasons() & ~reason.getBit());
+        return refresh(state, reason);
+    }
+
+    /**
+     * Re-apply a world's reasons after its task started while reasons were already set
+     * @return true if the world's task was paused as a result
+     */
+    public boolean reconcile(String world) {
+        WorldPauseState state = getOrCreate(world);
+        if (state.isPaused()) {
+            if (chunky.isRunning(world)) {
+                // Continued outside this plugin, e.g. by /chunky continue
+                state.setPaused(false);
+            } else {
+                // A progress event already in flight when the task was paused re-marked it as running
+                tasks.markPaused(world);
+            }
+        }
+        boolean wasPaused = state.isPaused();
+        state.setReasons(state.getLocalReasons() | globalReasons);
+        apply(state);
+        return !wasPaused && state.isPaused();
+    }
+
+    private int refreshAll(PauseReason reason) {
+        int changed = 0;
+        for (WorldPauseState state : worlds.values()) {
+            if (refresh(state, reason)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Recompute a world's effective reasons and record the transition if they changed
+     */
+    private boolean refresh(WorldPauseState state, PauseReason cause) {
+        int before = state.getReasons();
+        int after = state.getLocalReasons() | globalReasons;
+        if (before == after) {
+            return false;
+        }
+
+        boolean wasPaused = state.isPaused();
+        state.setReasons(after);
+        apply(state);
+        (cause.isSet(after) ? pausedCounts : resumedCounts)[cause.ordinal()]++;
+        PauseTransitionEvent.emit(state.getWorld(), cause, cause.isSet(after), after, state.isPaused(), wasPaused != state.isPaused());
+        state.record(new PauseTransition(System.currentTimeMillis(), cause, cause.isSet(after),
+            before, after, wasPaused, state.isPaused()));
+        return wasPaused != state.isPaused();
+    }
+
+    /**
+     * Issue the Chunky call needed to bring the task in line with the world's reasons
+     */
+    private void apply(WorldPauseState state) {
+        String world = state.getWorld();
+        if (state.getReasons() != 0 && !state.isPaused()) {
+            // Only worlds with a running task can be paused
+            if (tasks.isRunning(world) && chunky.pauseTask(world)) {
+                tasks.markPaused(world);
+                state.setPaused(true);
+            }
+        } else if (state.getReasons() == 0 && state.isPaused()) {
+            if (chunky.continueTask(world)) {
+                tasks.markContinued(world);
+            }
+            state.setPaused(false);
+        }
+    }
+
+    private WorldPauseState getOrCreate(String world) {
+        // New worlds start with no effective reasons so the first refresh applies world-wide ones
+        return worlds.computeIfAbsent(world, WorldPauseState::new);
+    }
+
+    /**
+     * Check if a reason is currently applied to every world
+     */
+    public boolean isPaused(PauseReason reason) {
+        return reason.isSet(globalReasons);
+    }
+
+    /**
+     * Check if any world-wide reason is set
+     */
+    public boolean isPausedByAny() {
+        return globalReasons != 0;
+    }
+
+    public int getGlobalReasons() {
+        return globalReasons;
+    }
+
+    public WorldPauseState getWorld(String world) {
+        return worlds.get(world);
+    }
+
+    public Collection<WorldPauseState> getWorlds() {
+        return Collections.unmodifiableCollection(worlds.values());
+    }
+
+    /**
+     * Number of worlds whose task this plugin currently holds paused
+     */
+    public int getPausedCount() {
+        int count = 0;
+        for (WorldPauseState state : worlds.values()) {
+            if (state.isPaused()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Number of times a reason was set on (or cleared from) a world, counting each world separately
+     */
+    public long getTransitionCount(PauseReason reason, boolean paused) {
+        return (paused ? pausedCounts : resumedCounts)[reason.ordinal()];
+    }
+
+    /**
+     * Forget a world, e.g. when it unloads
+     */
+    public void remove(String world) {
+        worlds.remove(world);
+    }
+}
@@ -0,0 +1,60 @@
+package org.popcraft.chunkypause.pause;
+
+/**
+ * Immutable record of a change to a world's pause reasons
+ */
+public class PauseTransition {
+    private final long timestamp;
+    private final PauseReason reason;
+    private final boolean added;
+    private final int reasonsBefore;
+    private final int reasonsAfter;
+    private final boolean pausedBefore;
+    private final boolean pausedAfter;
+
+    public PauseTransition(long timestamp, PauseReason reason, boolean added,
+                           int reasonsBefore, int reasonsAfter, boolean pausedBefore, boolean pausedAfter) {
+        this.timestamp = timestamp;
+        this.reason = reason;
+        this.added = added;
+        this.reasonsBefore = reasonsBefore;
+        this.reasonsAfter = reasonsAfter;
+        this.pausedBefore = pausedBefore;
+        this.pausedAfter = pausedAfter;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public PauseReason getReason() {
+        return reason;
+    }
+
+    public boolean isAdded() {
+        return added;
+    }
+
+    public int getReasonsBefore() {
+        return reasonsBefore;
+    }
+
+    public int getReasonsAfter() {
+        return reasonsAfter;
+    }
+
+    public boolean isPausedBefore() {
+        return pausedBefore;
+    }
+
+    public boolean isPausedAfter() {
+        return pausedAfter;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s%s [%s] %s -> %s",
+            added ? "+" : "-", reason.getDisplayName(), PauseReason.describe(reasonsAfter),
+            pausedBefore ? "paused" : "running", pausedAfter ? "paused" : "running");
+    }
+}
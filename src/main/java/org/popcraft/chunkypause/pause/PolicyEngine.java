@@ -0,0 +1,272 @@
+package org.popcraft.chunkypause.pause;
+
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Applies pause reasons according to each reason's {@link PausePolicy}, either to every world
+ * or to a single one.
+ * Signals report what they want; a change only reaches the state machine once it has held
+ * for its debounce window and the current state has lasted its minimum dwell time.
+ * A change that is withdrawn before then is counted as suppressed.
+ * Main thread only.
+ */
+public class PolicyEngine {
+
+    private static final long CHECK_TICKS = 10L;
+    private static final PauseReason[] REASONS = PauseReason.values();
+
+    private final MonitorLoop loop;
+    private final PauseStateMachine pauseState;
+    private final Listener listener;
+    private final PausePolicy[] policies = new PausePolicy[REASONS.length];
+    private final Signal[] signals = new Signal[REASONS.length];
+    // Per-world signals, keyed by world then reason ordinal
+    private final Map<String, Signal[]> worldSignals = new HashMap<>();
+    private final long[] suppressed = new long[REASONS.length];
+    private MonitorLoop.Task task;
+
+    /**
+     * Told about every change the engine applies
+     */
+    public interface Listener {
+        /**
+         * @param world the world the change applies to, or null for every world
+         * @param paused whether the reason was set or cleared
+         * @param changed number of worlds whose task was paused or resumed as a result
+         */
+        void onTransition(String world, PauseReason reason, boolean paused, int changed);
+    }
+
+    /**
+     * Debounce and dwell bookkeeping for one reason in one scope
+     */
+    private static class Signal {
+        private boolean pending = false;
+        private long pendingSince = 0;
+        private long changedAt = 0;
+    }
+
+    public PolicyEngine(MonitorLoop loop, PauseStateMachine pauseState, Listener listener) {
+        this.loop = loop;
+        this.pauseState = pauseState;
+        this.listener = listener;
+        for (PauseReason reason : REASONS) {
+            policies[reason.ordinal()] = PausePolicy.getDefault(reason);
+            signals[reason.ordinal()] = new Signal();
+        }
+    }
+
+    /**
+     * Apply pending changes once their windows pass, even if their signal does not report again.
+     * Runs as the loop's decision pass, after the tick's samples are in.
+     */
+    public void start() {
+        task = loop.schedule(MonitorLoop.Phase.DECIDE, CHECK_TICKS, this::check);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    public void setPolicy(PauseReason reason, PausePolicy policy) {
+        policies[reason.ordinal()] = policy;
+    }
+
+    public PausePolicy getPolicy(PauseReason reason) {
+        return policies[reason.ordinal()];
+    }
+
+    /**
+     * Report whether a signal currently wants every world paused
+     */
+    public void update(PauseReason reason, boolean paused) {
+        update(null, signals[reason.ordinal()], reason, paused);
+    }
+
+    /**
+     * Report whether a signal currently wants a single world paused
+     */
+    public void update(String world, PauseReason reason, boolean paused) {
+        Signal[] scoped = worldSignals.get(world);
+        if (scoped == null) {
+            if (paused == isPaused(world, reason)) {
+                // Nothing pending and nothing to change
+                return;
+            }
+            scoped = new Signal[REASONS.length];
+            worldSignals.put(world, scoped);
+        }
+        if (scoped[reason.ordinal()] == null) {
+            scoped[reason.ordinal()] = new Signal();
+        }
+        update(world, scoped[reason.ordinal()], reason, paused);
+    }
+
+    /**
+     * Report a level signal: pause above the threshold, resume below it minus the policy's band
+     */
+    public void update(PauseReason reason, double value, double threshold) {
+        update(reason, value, threshold, threshold - policies[reason.ordinal()].getBand());
+    }
+
+    /**
+     * Report a level signal with explicit watermarks; between them the current state is kept
+     */
+    public void update(PauseReason reason, double value, double pauseAbove, double resumeBelow) {
+        boolean paused = pauseState.isPaused(reason);
+        if (!paused && value > pauseAbove) {
+            paused = true;
+        } else if (paused && value < resumeBelow) {
+            paused = false;
+        }
+        update(reason, paused);
+    }
+
+    private void update(String world, Signal signal, PauseReason reason, boolean paused) {
+        if (paused == isPaused(world, reason)) {
+            if (signal.pending) {
+                // The signal went back before its change was applied
+                signal.pending = false;
+                suppressed[reason.ordinal()]++;
+            }
+            return;
+        }
+        if (!signal.pending) {
+            signal.pending = true;
+            signal.pendingSince = System.currentTimeMillis();
+        }
+        tryApply(world, signal, reason, System.currentTimeMillis());
+    }
+
+    /**
+     * Set or clear a world-wide reason right away, bypassing the policy, e.g. for commands or disabled checks.
+     * The listener is not called.
+     * @return number of worlds whose task was paused or resumed as a result
+     */
+    public int force(PauseReason reason, boolean paused) {
+        Signal signal = signals[reason.ordinal()];
+        signal.pending = false;
+        if (paused == pauseState.isPaused(reason)) {
+            return 0;
+        }
+        signal.changedAt = System.currentTimeMillis();
+        return paused ? pauseState.pauseAll(reason) : pauseState.resumeAll(reason);
+    }
+
+    /**
+     * Clear a reason from every world it was set on individually, bypassing the policy.
+     * The listener is not called.
+     * @return number of worlds whose task was resumed as a result
+     */
+    public int clearWorlds(PauseReason reason) {
+        int resumed = 0;
+        for (WorldPauseState state : pauseState.getWorlds()) {
+            if (state.hasLocalReason(reason) && pauseState.resume(state.getWorld(), reason)) {
+                resumed++;
+            }
+        }
+        for (Signal[] scoped : worldSignals.values()) {
+            scoped[reason.ordinal()] = null;
+        }
+        return resumed;
+    }
+
+    private boolean isPaused(String world, PauseReason reason) {
+        if (world == null) {
+            return pauseState.isPaused(reason);
+        }
+        WorldPauseState state = pauseState.getWorld(world);
+        return state != null && state.hasLocalReason(reason);
+    }
+
+    private void check() {
+        long now = System.currentTimeMillis();
+        for (PauseReason reason : REASONS) {
+            Signal signal = signals[reason.ordinal()];
+            if (signal.pending) {
+                tryApply(null, signal, reason, now);
+            }
+        }
+
+        Iterator<Map.Entry<String, Signal[]>> iterator = worldSignals.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Signal[]> entry = iterator.next();
+            boolean active = false;
+            for (PauseReason reason : REASONS) {
+                Signal signal = entry.getValue()[reason.ordinal()];
+                if (signal == null) {
+                    continue;
+                }
+                if (signal.pending) {
+                    tryApply(entry.getKey(), signal, reason, now);
+                }
+                // Keep the signal while it is pending, holds its world, or still counts toward a dwell time
+                PausePolicy policy = policies[reason.ordinal()];
+                active |= signal.pending || isPaused(entry.getKey(), reason)
+                    || now - signal.changedAt < Math.max(policy.getMinRunningMs(), policy.getMinPausedMs());
+            }
+            if (!active) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void tryApply(String world, Signal signal, PauseReason reason, long now) {
+        PausePolicy policy = policies[reason.ordinal()];
+        boolean paused = !isPaused(world, reason);
+        long debounce = paused ? policy.getPauseAfterMs() : policy.getResumeAfterMs();
+        // Dwell applies to the state being left
+        long dwell = paused ? policy.getMinRunningMs() : policy.getMinPausedMs();
+        if (now - signal.pendingSince < debounce || now - signal.changedAt < dwell) {
+            return;
+        }
+
+        signal.pending = false;
+        signal.changedAt = now;
+        int changed;
+        if (world == null) {
+            changed = paused ? pauseState.pauseAll(reason) : pauseState.resumeAll(reason);
+        } else {
+            changed = (paused ? pauseState.pause(world, reason) : pauseState.resume(world, reason)) ? 1 : 0;
+        }
+        listener.onTransition(world, reason, paused, changed);
+    }
+
+    /**
+     * Check if a change for this reason is waiting on its debounce or dwell time, in any scope
+     */
+    public boolean isPending(PauseReason reason) {
+        if (signals[reason.ordinal()].pending) {
+            return true;
+        }
+        for (Signal[] scoped : worldSignals.values()) {
+            Signal signal = scoped[reason.ordinal()];
+            if (signal != null && signal.pending) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of changes this reason asked for and withdrew before they were applied
+     */
+    public long getSuppressed(PauseReason reason) {
+        return suppressed[reason.ordinal()];
+    }
+
+    public long getSuppressedTotal() {
+        long total = 0;
+        for (long count : suppressed) {
+            total += count;
+        }
+        return total;
+    }
+}
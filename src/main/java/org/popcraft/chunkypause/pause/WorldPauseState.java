@@ -0,0 +1,84 @@
+package org.popcraft.chunkypause.pause;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Pause state of a single world: its active reasons, whether we paused
+ * its Chunky task, and a short history of transitions
+ */
+public class WorldPauseState {
+
+    private static final int HISTORY_SIZE = 16;
+
+    private final String world;
+    private final Deque<PauseTransition> history = new ArrayDeque<>(HISTORY_SIZE);
+    private int localReasons = 0;
+    private int reasons = 0;
+    private boolean paused = false;
+
+    public WorldPauseState(String world) {
+        this.world = world;
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    /**
+     * Effective reasons: those set on this world plus world-wide ones
+     */
+    public int getReasons() {
+        return reasons;
+    }
+
+    void setReasons(int reasons) {
+        this.reasons = reasons;
+    }
+
+    /**
+     * Reasons set on this world only
+     */
+    public int getLocalReasons() {
+        return localReasons;
+    }
+
+    void setLocalReasons(int localReasons) {
+        this.localReasons = localReasons;
+    }
+
+    public boolean hasReason(PauseReason reason) {
+        return reason.isSet(reasons);
+    }
+
+    public boolean hasLocalReason(PauseReason reason) {
+        return reason.isSet(localReasons);
+    }
+
+    /**
+     * Check if this plugin currently holds the world's Chunky task paused
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    void record(PauseTransition transition) {
+        if (history.size() == HISTORY_SIZE) {
+            history.removeFirst();
+        }
+        history.addLast(transition);
+    }
+
+    /**
+     * Transitions from oldest to newest
+     */
+    public List<PauseTransition> getHistory() {
+        return new ArrayList<>(history);
+    }
+}
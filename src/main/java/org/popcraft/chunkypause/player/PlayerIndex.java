@@ -0,0 +1,260 @@
+package org.popcraft.chunkypause.player;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Spatial index of online players per world, bucketed into grid cells of 16x16 chunks.
+ * Move events only touch the index when a player enters a new chunk, and how fast each player
+ * crosses chunks is sampled once per interval to spot players loading new terrain.
+ * Main thread only.
+ */
+public class PlayerIndex implements Listener {
+
+    private static final int CELL_SHIFT = 4;
+    private static final double SMOOTHING = 0.3;
+
+    private final JavaPlugin plugin;
+    private final MonitorLoop loop;
+    private final long interval;
+    private final Consumer<PlayerIndex> listener;
+    private final Map<String, WorldGrid> worlds = new HashMap<>();
+    private final Map<UUID, TrackedPlayer> players = new HashMap<>();
+    private double exploreRate = 1.0;
+    private long lastSampleNanos = 0;
+    private MonitorLoop.Task task;
+
+    private static class TrackedPlayer {
+        private WorldGrid grid;
+        private int chunkX;
+        private int chunkZ;
+        private int crossings = 0;
+        private double chunkRate = 0;
+    }
+
+    private static class WorldGrid {
+        // Players per cell, keyed by packed cell coordinates
+        private final Map<Long, int[]> cells = new HashMap<>();
+        private int players = 0;
+        private int exploring = 0;
+
+        private void add(int chunkX, int chunkZ) {
+            cells.computeIfAbsent(cellKey(chunkX >> CELL_SHIFT, chunkZ >> CELL_SHIFT), key -> new int[1])[0]++;
+            players++;
+        }
+
+        private void remove(int chunkX, int chunkZ) {
+            long key = cellKey(chunkX >> CELL_SHIFT, chunkZ >> CELL_SHIFT);
+            int[] count = cells.get(key);
+            if (count != null && --count[0] <= 0) {
+                cells.remove(key);
+            }
+            players--;
+        }
+    }
+
+    public PlayerIndex(JavaPlugin plugin, MonitorLoop loop, long interval, Consumer<PlayerIndex> listener) {
+        this.plugin = plugin;
+        this.loop = loop;
+        this.interval = interval;
+        this.listener = listener;
+    }
+
+    /**
+     * Index players already online and start listening
+     */
+    public void start() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            track(player.getUniqueId(), player.getLocation());
+        }
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        task = loop.schedule(MonitorLoop.Phase.SAMPLE, interval, this::sample);
+    }
+
+    public void stop() {
+        HandlerList.unregisterAll(this);
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        worlds.clear();
+        players.clear();
+    }
+
+    /**
+     * Chunks per second a player must cross to count as exploring
+     */
+    public void setExploreRate(double exploreRate) {
+        this.exploreRate = exploreRate;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        track(event.getPlayer().getUniqueId(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        TrackedPlayer tracked = players.remove(event.getPlayer().getUniqueId());
+        if (tracked != null) {
+            tracked.grid.remove(tracked.chunkX, tracked.chunkZ);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent event) {
+        Location to = event.getTo();
+        TrackedPlayer tracked = players.get(event.getPlayer().getUniqueId());
+        if (to == null || tracked == null) {
+            return;
+        }
+        // Fast path: most move events stay within a chunk
+        int chunkX = to.getBlockX() >> 4;
+        int chunkZ = to.getBlockZ() >> 4;
+        if (chunkX == tracked.chunkX && chunkZ == tracked.chunkZ) {
+            return;
+        }
+        tracked.crossings++;
+        moveTo(tracked, to, chunkX, chunkZ);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent event) {
+        Location to = event.getTo();
+        TrackedPlayer tracked = players.get(event.getPlayer().getUniqueId());
+        if (to != null && tracked != null) {
+            // Teleports load chunks once, they are not exploration
+            moveTo(tracked, to, to.getBlockX() >> 4, to.getBlockZ() >> 4);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+        Location location = event.getPlayer().getLocation();
+        TrackedPlayer tracked = players.get(event.getPlayer().getUniqueId());
+        if (tracked != null) {
+            moveTo(tracked, location, location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+    }
+
+    private void track(UUID id, Location location) {
+        TrackedPlayer tracked = new TrackedPlayer();
+        tracked.grid = grid(location);
+        tracked.chunkX = location.getBlockX() >> 4;
+        tracked.chunkZ = location.getBlockZ() >> 4;
+        tracked.grid.add(tracked.chunkX, tracked.chunkZ);
+        TrackedPlayer previous = players.put(id, tracked);
+        if (previous != null) {
+            previous.grid.remove(previous.chunkX, previous.chunkZ);
+        }
+    }
+
+    private void moveTo(TrackedPlayer tracked, Location to, int chunkX, int chunkZ) {
+        WorldGrid grid = grid(to);
+        if (grid == tracked.grid && (chunkX >> CELL_SHIFT) == (tracked.chunkX >> CELL_SHIFT)
+                && (chunkZ >> CELL_SHIFT) == (tracked.chunkZ >> CELL_SHIFT)) {
+            // Same cell, only the chunk changed
+            tracked.chunkX = chunkX;
+            tracked.chunkZ = chunkZ;
+            return;
+        }
+        tracked.grid.remove(tracked.chunkX, tracked.chunkZ);
+        tracked.grid = grid;
+        tracked.chunkX = chunkX;
+        tracked.chunkZ = chunkZ;
+        grid.add(chunkX, chunkZ);
+    }
+
+    private WorldGrid grid(Location location) {
+        return worlds.computeIfAbsent(location.getWorld().getName(), name -> new WorldGrid());
+    }
+
+    private void sample() {
+        long now = loop.getTickStartNanos();
+        double seconds = lastSampleNanos != 0 ? (now - lastSampleNanos) / 1e9 : interval / 20.0;
+        lastSampleNanos = now;
+
+        for (WorldGrid grid : worlds.values()) {
+            grid.exploring = 0;
+        }
+        for (TrackedPlayer tracked : players.values()) {
+            tracked.chunkRate += SMOOTHING * (tracked.crossings / seconds - tracked.chunkRate);
+            tracked.crossings = 0;
+            if (tracked.chunkRate >= exploreRate) {
+                tracked.grid.exploring++;
+            }
+        }
+
+        listener.accept(this);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Players within roughly a radius of a chunk; cells partly in range count fully,
+     * so this may include players up to one cell (16 chunks) further out
+     */
+    public int countNear(String world, int chunkX, int chunkZ, int radiusChunks) {
+        WorldGrid grid = worlds.get(world);
+        if (grid == null || grid.players == 0) {
+            return 0;
+        }
+        int minX = (chunkX - radiusChunks) >> CELL_SHIFT;
+        int maxX = (chunkX + radiusChunks) >> CELL_SHIFT;
+        int minZ = (chunkZ - radiusChunks) >> CELL_SHIFT;
+        int maxZ = (chunkZ + radiusChunks) >> CELL_SHIFT;
+        int count = 0;
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > grid.cells.size()) {
+            // Fewer occupied cells than cells in range, check those instead
+            for (Map.Entry<Long, int[]> entry : grid.cells.entrySet()) {
+                int x = (int) (entry.getKey() >> 32);
+                int z = (int) (long) entry.getKey();
+                if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) {
+                    count += entry.getValue()[0];
+                }
+            }
+            return count;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                int[] cell = grid.cells.get(cellKey(x, z));
+                if (cell != null) {
+                    count += cell[0];
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Players in a world crossing chunks at least as fast as the explore rate
+     */
+    public int getExploring(String world) {
+        WorldGrid grid = worlds.get(world);
+        return grid != null ? grid.exploring : 0;
+    }
+
+    public int getPlayers(String world) {
+        WorldGrid grid = worlds.get(world);
+        return grid != null ? grid.players : 0;
+    }
+}
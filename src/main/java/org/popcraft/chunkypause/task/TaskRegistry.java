@@ -0,0 +1,131 @@
+package org.popcraft.chunkypause.task;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.popcraft.chunky.api.ChunkyAPI;
+import org.popcraft.chunky.api.event.task.GenerationCompleteEvent;
+import org.popcraft.chunky.api.event.task.GenerationProgressEvent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of which worlds have a running Chunky task, fed by Chunky's
+ * generation callbacks so pause/resume never has to probe every loaded world.
+ */
+public class TaskRegistry {
+
+    private final JavaPlugin plugin;
+    private final ChunkyAPI chunky;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private final Map<String, GenerationProgressEvent> progress = new ConcurrentHashMap<>();
+    private Consumer<String> startListener = world -> { };
+    private volatile boolean open = false;
+
+    public TaskRegistry(JavaPlugin plugin, ChunkyAPI chunky) {
+        this.plugin = plugin;
+        this.chunky = chunky;
+    }
+
+    /**
+     * Subscribe to Chunky callbacks and pick up tasks that were already running
+     */
+    public void start() {
+        open = true;
+        // Chunky has no way to unregister callbacks, so they check the open flag instead
+        chunky.onGenerationProgress(this::onProgress);
+        chunky.onGenerationComplete(this::onComplete);
+
+        for (World world : Bukkit.getServer().getWorlds()) {
+            if (chunky.isRunning(world.getName())) {
+                running.add(world.getName());
+            }
+        }
+    }
+
+    /**
+     * Stop reacting to Chunky callbacks
+     */
+    public void stop() {
+        open = false;
+        running.clear();
+        progress.clear();
+    }
+
+    /**
+     * Set the listener called on the main thread when a task starts that was not known to be running
+     */
+    public void setStartListener(Consumer<String> startListener) {
+        this.startListener = startListener;
+    }
+
+    /**
+     * Called from Chunky's generation threads
+     */
+    private void onProgress(GenerationProgressEvent event) {
+        if (!open) {
+            return;
+        }
+
+        String world = event.world();
+        if (event.complete()) {
+            running.remove(world);
+            progress.remove(world);
+            return;
+        }
+
+        progress.put(world, event);
+        // Fast path: known task, nothing else to do
+        if (running.add(world) && plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> startListener.accept(world));
+        }
+    }
+
+    /**
+     * Called from Chunky's generation threads
+     */
+    private void onComplete(GenerationCompleteEvent event) {
+        if (!open) {
+            return;
+        }
+        running.remove(event.world());
+        progress.remove(event.world());
+    }
+
+    /**
+     * Record that this plugin paused a world's task
+     */
+    public void markPaused(String world) {
+        running.remove(world);
+    }
+
+    /**
+     * Record that this plugin continued a world's task
+     */
+    public void markContinued(String world) {
+        running.add(world);
+    }
+
+    public boolean isRunning(String world) {
+        return running.contains(world);
+    }
+
+    public Set<String> getRunningWorlds() {
+        return Collections.unmodifiableSet(running);
+    }
+
+    public int getRunningCount() {
+        return running.size();
+    }
+
+    /**
+     * Latest progress reported for a world, or null if none
+     */
+    public GenerationProgressEvent getProgress(String world) {
+        return progress.get(world);
+    }
+}
@@ -0,0 +1,121 @@
+package org.popcraft.chunkypause.throttle;
+
+import org.popcraft.chunkypause.pause.PauseReason;
+import org.popcraft.chunkypause.pause.PauseStateMachine;
+import org.popcraft.chunkypause.pause.WorldPauseState;
+import org.popcraft.chunkypause.task.TaskRegistry;
+import org.popcraft.chunkypause.tick.MonitorLoop;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Alternates Chunky between running and paused windows per world.
+ * The share of each period spent running comes from a feedback controller,
+ * so generation gets all the headroom the server can spare and no more.
+ */
+public class DutyCycleScheduler {
+
+    private static final long STEP_TICKS = 10L;
+
+    private final MonitorLoop loop;
+    private final TaskRegistry tasks;
+    private final PauseStateMachine pauseState;
+    private final int periodTicks;
+    private final PidController controller;
+
+    private double dutyRatio = 1.0;
+    private long tick = 0;
+    private MonitorLoop.Task task;
+    private final List<String> worlds = new ArrayList<>();
+
+    public DutyCycleScheduler(MonitorLoop loop, TaskRegistry tasks, PauseStateMachine pauseState,
+                              int periodTicks, PidController controller) {
+        this.loop = loop;
+        this.tasks = tasks;
+        this.pauseState = pauseState;
+        this.periodTicks = Math.max((int) STEP_TICKS * 2, periodTicks);
+        this.controller = controller;
+    }
+
+    /**
+     * Start switching windows
+     */
+    public void start() {
+        controller.reset(1.0);
+        dutyRatio = controller.getOutput();
+        task = loop.schedule(MonitorLoop.Phase.DISPATCH, STEP_TICKS, this::step);
+    }
+
+    /**
+     * Stop switching and clear any off window this scheduler holds
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (WorldPauseState state : List.copyOf(pauseState.getWorlds())) {
+            pauseState.resume(state.getWorld(), PauseReason.DUTY_CYCLE);
+        }
+    }
+
+    /**
+     * Feed the controller with the current headroom (positive) or overload (negative)
+     */
+    public void update(double error, double dtSeconds) {
+        dutyRatio = controller.update(error, dtSeconds);
+    }
+
+    private void step() {
+        tick += STEP_TICKS;
+
+        // Worlds with a running task plus those currently in an off window
+        worlds.clear();
+        worlds.addAll(tasks.getRunningWorlds());
+        for (WorldPauseState state : pauseState.getWorlds()) {
+            if (state.hasLocalReason(PauseReason.DUTY_CYCLE) && !worlds.contains(state.getWorld())) {
+                worlds.add(state.getWorld());
+            }
+        }
+        worlds.sort(null);
+
+        int onTicks = (int) Math.round(periodTicks * dutyRatio);
+
+        for (int i = 0; i < worlds.size(); i++) {
+            String world = worlds.get(i);
+
+            // Stagger worlds across the period so they don't all pause together
+            long offset = (long) i * periodTicks / worlds.size();
+            boolean shouldRun = onTicks >= periodTicks || (tick + offset) % periodTicks < onTicks;
+
+            if (shouldRun) {
+                pauseState.resume(world, PauseReason.DUTY_CYCLE);
+            } else if (tasks.isRunning(world)) {
+                // Worlds held by another reason are already paused and need no off window
+                pauseState.pause(world, PauseReason.DUTY_CYCLE);
+            }
+        }
+    }
+
+    public double getDutyRatio() {
+        return dutyRatio;
+    }
+
+    public int getPeriodTicks() {
+        return periodTicks;
+    }
+
+    /**
+     * Number of worlds currently in an off window
+     */
+    public int getPausedWorldCount() {
+        int count = 0;
+        for (WorldPauseState state : pauseState.getWorlds()) {
+            if (state.hasLocalReason(PauseReason.DUTY_CYCLE)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,71 @@
+package org.popcraft.chunkypause.throttle;
+
+/**
+ * Simple PID controller with output clamping and integral anti-windup
+ */
+public class PidController {
+
+    private final double kp;
+    private final double ki;
+    private final double kd;
+    private final double minOutput;
+    private final double maxOutput;
+
+    private double integral = 0;
+    private double lastError = 0;
+    private boolean hasLastError = false;
+    private double output;
+
+    public PidController(double kp, double ki, double kd, double minOutput, double maxOutput) {
+        this.kp = kp;
+        this.ki = ki;
+        this.kd = kd;
+        this.minOutput = minOutput;
+        this.maxOutput = maxOutput;
+        reset(maxOutput);
+    }
+
+    /**
+     * Feed a new error sample and get the clamped output.
+     * Positive error means there is headroom, negative means the target is exceeded.
+     */
+    public double update(double error, double dtSeconds) {
+        double derivative = hasLastError && dtSeconds > 0 ? (error - lastError) / dtSeconds : 0;
+        double candidateIntegral = integral + error * dtSeconds;
+        double raw = kp * error + ki * candidateIntegral + kd * derivative;
+
+        // Only integrate when it does not push further into saturation
+        if (raw > maxOutput) {
+            output = maxOutput;
+            if (error < 0) {
+                integral = candidateIntegral;
+            }
+        } else if (raw < minOutput) {
+            output = minOutput;
+            if (error > 0) {
+                integral = candidateIntegral;
+            }
+        } else {
+            output = raw;
+            integral = candidateIntegral;
+        }
+
+        lastError = error;
+        hasLastError = true;
+        return output;
+    }
+
+    /**
+     * Reset state so the controller starts from the given output
+     */
+    public void reset(double initialOutput) {
+        output = Math.max(minOutput, Math.min(maxOutput, initialOutput));
+        integral = ki != 0 ? output / ki : 0;
+        lastError = 0;
+        hasLastError = false;
+    }
+
+    public double getOutput() {
+        return output;
+    }
+}
@@ -0,0 +1,158 @@
+package org.popcraft.chunkypause.tick;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * The plugin's single main-thread timer. Each tick it reads the clock once, then runs everything
+ * scheduled on it in three phases: samples first, then the decision pass, then the actions and
+ * publishing that follow from it. Nothing else in the plugin repeats on the main thread, so no
+ * sample is taken twice in a tick and a decision always sees the tick's fresh samples.
+ */
+public class MonitorLoop {
+
+    public enum Phase {
+        /** Read inputs and hand over results sampled off the main thread */
+        SAMPLE,
+        /** Apply pending pause and resume decisions */
+        DECIDE,
+        /** Act on the outcome and publish it */
+        DISPATCH
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final JavaPlugin plugin;
+    private final List<List<Task>> tasks = new ArrayList<>(PHASES.length);
+    private boolean cancelled = false;
+    private long tickStartNanos = 0;
+    private long tickNanos = 0;
+    private BukkitTask task;
+
+    /**
+     * Work scheduled on the loop, run every interval ticks or, with an interval of 0, only when woken
+     */
+    public static class Task {
+        private final Runnable action;
+        private final long interval;
+        private final AtomicBoolean woken = new AtomicBoolean(false);
+        private long remaining;
+        private boolean cancelled = false;
+
+        private Task(Runnable action, long interval) {
+            this.action = action;
+            this.interval = interval;
+            this.remaining = interval;
+        }
+
+        /**
+         * Run once more in the next tick; safe to call from any thread, and repeated wakes before then run it once
+         */
+        public void wake() {
+            woken.set(true);
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private boolean isDue() {
+            if (woken.compareAndSet(true, false)) {
+                remaining = interval;
+                return true;
+            }
+            if (interval > 0 && --remaining <= 0) {
+                remaining = interval;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public MonitorLoop(JavaPlugin plugin) {
+        this.plugin = plugin;
+        for (int i = 0; i < PHASES.length; i++) {
+            tasks.add(new ArrayList<>());
+        }
+    }
+
+    public void start() {
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (List<Task> phase : tasks) {
+            phase.clear();
+        }
+        tickStartNanos = 0;
+        tickNanos = 0;
+    }
+
+    /**
+     * Run an action in a phase every interval ticks, first after one interval
+     * @param interval ticks between runs, or 0 to run only when woken
+     */
+    public Task schedule(Phase phase, long interval, Runnable action) {
+        Task scheduled = new Task(action, Math.max(0, interval));
+        tasks.get(phase.ordinal()).add(scheduled);
+        return scheduled;
+    }
+
+    /**
+     * When the current tick's work started, from {@link System#nanoTime()}
+     */
+    public long getTickStartNanos() {
+        return tickStartNanos;
+    }
+
+    /**
+     * Time since the previous tick started, or 0 on the first tick
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        tickNanos = tickStartNanos != 0 ? now - tickStartNanos : 0;
+        tickStartNanos = now;
+
+        for (List<Task> phase : tasks) {
+            // Indexed so work scheduled from inside a task does not disturb the pass
+            for (int i = 0; i < phase.size(); i++) {
+                Task scheduled = phase.get(i);
+                if (scheduled.cancelled) {
+                    cancelled = true;
+                } else if (scheduled.isDue()) {
+                    run(scheduled);
+                }
+            }
+        }
+
+        if (cancelled) {
+            cancelled = false;
+            for (List<Task> phase : tasks) {
+                phase.removeIf(scheduled -> scheduled.cancelled);
+            }
+        }
+    }
+
+    private void run(Task scheduled) {
+        try {
+            scheduled.action.run();
+        } catch (RuntimeException e) {
+            // One failing check must not take the rest of the tick down with it
+            plugin.getLogger().log(Level.WARNING, "Scheduled check failed", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.popcraft.chunkypause.tick;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Measures tick duration as the gap between successive ticks over a rolling window, as timed by the {@link MonitorLoop}.
+ * A healthy server ticks every 50ms; larger gaps mean the server is falling behind.
+ */
+public class TickSampler {
+
+    private final MonitorLoop loop;
+    private final long[] intervals;
+    private final long[] sorted;
+    private final int evaluateEvery;
+    private final Consumer<TickSampler> listener;
+
+    private int index = 0;
+    private int count = 0;
+    private int ticksSinceEvaluation = 0;
+    private MonitorLoop.Task task;
+
+    public TickSampler(MonitorLoop loop, int windowSize, int evaluateEvery, Consumer<TickSampler> listener) {
+        this.loop = loop;
+        this.intervals = new long[Math.max(1, windowSize)];
+        this.sorted = new long[intervals.length];
+        this.evaluateEvery = Math.max(1, evaluateEvery);
+        this.listener = listener;
+    }
+
+    /**
+     * Start sampling every tick
+     */
+    public void start() {
+        task = loop.schedule(MonitorLoop.Phase.SAMPLE, 1L, this::tick);
+    }
+
+    /**
+     * Stop sampling and discard the window
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        index = 0;
+        count = 0;
+    }
+
+    private void tick() {
+        // Zero on the loop's first tick, when there is no previous tick to measure from
+        long intervalNanos = loop.getTickNanos();
+        if (intervalNanos != 0) {
+            record(intervalNanos);
+        }
+
+        if (++ticksSinceEvaluation >= evaluateEvery) {
+            ticksSinceEvaluation = 0;
+            listener.accept(this);
+        }
+    }
+
+    /**
+     * Add a tick interval to the window
+     */
+    public void record(long intervalNanos) {
+        intervals[index] = intervalNanos;
+        index = (index + 1) % intervals.length;
+        if (count < intervals.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Tick duration at the given percentile (0.0 - 1.0) in milliseconds
+     */
+    public double getPercentileMspt(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        System.arraycopy(intervals, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int rank = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, rank))] / 1_000_000.0;
+    }
+
+    /**
+     * Average tick duration in milliseconds
+     */
+    public double getAverageMspt() {
+        if (count == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += intervals[i];
+        }
+        return total / (double) count / 1_000_000.0;
+    }
+
+    /**
+     * Check if the window has been filled at least once
+     */
+    public boolean isWarm() {
+        return count == intervals.length;
+    }
+}
@@ -0,0 +1,79 @@
+package org.popcraft.chunkypause.util;
+
+/**
+ * Fixed-bucket histogram of non-negative values.
+ * Percentiles resolve to the upper bound of the bucket they fall in; the last bucket reports the maximum seen.
+ */
+public class Histogram {
+
+    private final long[] bounds;
+    private final long[] counts;
+    private long count = 0;
+    private long sum = 0;
+    private long max = 0;
+
+    /**
+     * @param bounds ascending inclusive upper bounds; values above the last bound go into an overflow bucket
+     */
+    public Histogram(long... bounds) {
+        this.bounds = bounds.clone();
+        this.counts = new long[bounds.length + 1];
+    }
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        int bucket = 0;
+        while (bucket < bounds.length && clamped > bounds[bucket]) {
+            bucket++;
+        }
+        counts[bucket]++;
+        count++;
+        sum += clamped;
+        max = Math.max(max, clamped);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0.0 - 1.0)
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < bounds.length ? Math.min(bounds[i], max) : max;
+            }
+        }
+        return max;
+    }
+
+    public long[] getBounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * Count per bucket, with the overflow bucket last
+     */
+    public long[] getCounts() {
+        return counts.clone();
+    }
+}